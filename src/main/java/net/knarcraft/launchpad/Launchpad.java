@@ -8,7 +8,9 @@ import net.knarcraft.launchpad.command.LaunchpadTabCompleter;
 import net.knarcraft.launchpad.command.ReloadCommand;
 import net.knarcraft.launchpad.config.LaunchpadConfiguration;
 import net.knarcraft.launchpad.config.LaunchpadMessage;
+import net.knarcraft.launchpad.launchpad.LaunchpadBlockHandler;
 import net.knarcraft.launchpad.listener.LaunchpadBreakListener;
+import net.knarcraft.launchpad.listener.LaunchpadChunkListener;
 import net.knarcraft.launchpad.listener.LaunchpadModifyListener;
 import net.knarcraft.launchpad.listener.LaunchpadUseListener;
 import org.bukkit.Bukkit;
@@ -97,6 +99,7 @@ public final class Launchpad extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new LaunchpadUseListener(), this);
         Bukkit.getPluginManager().registerEvents(new LaunchpadBreakListener(), this);
         Bukkit.getPluginManager().registerEvents(new LaunchpadModifyListener(), this);
+        Bukkit.getPluginManager().registerEvents(new LaunchpadChunkListener(), this);
 
         // Register commands
         registerCommand("reload", new ReloadCommand(), null);
@@ -105,6 +108,12 @@ public final class Launchpad extends JavaPlugin {
         this.launchpadConfiguration = new LaunchpadConfiguration(getConfig());
     }
 
+    @Override
+    public void onDisable() {
+        // Make sure no launchpad changes are lost
+        LaunchpadBlockHandler.shutdown();
+    }
+
     /**
      * Registers a command
      *
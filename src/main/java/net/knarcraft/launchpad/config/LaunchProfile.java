@@ -0,0 +1,15 @@
+package net.knarcraft.launchpad.config;
+
+import net.knarcraft.launchpad.launchpad.LaunchTrajectory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The configured launch behavior of a single material
+ *
+ * @param horizontalVelocity <p>The default horizontal velocity of launchpads of the material</p>
+ * @param verticalVelocity   <p>The default vertical velocity of launchpads of the material</p>
+ * @param trajectory         <p>The predicted trajectory of players launched with the default velocities</p>
+ */
+public record LaunchProfile(double horizontalVelocity, double verticalVelocity,
+                            @NotNull LaunchTrajectory trajectory) {
+}
@@ -0,0 +1,175 @@
+package net.knarcraft.launchpad.config;
+
+import net.knarcraft.launchpad.launchpad.LaunchTrajectory;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable table of the launch profiles and classifications of all materials
+ *
+ * <p>The table is indexed by material ordinal, so looking up a material's profile, or checking any of its
+ * classifications, is a single array read. Materials with identical profiles share the same profile instance.</p>
+ */
+public final class LaunchProfileTable {
+
+    private static final byte LAUNCHPAD_MATERIAL = 1;
+    private static final byte WHITELISTED = 1 << 1;
+    private static final byte PRESSURE_PLATE = 1 << 2;
+    private static final byte AIR = 1 << 3;
+
+    private final @NotNull LaunchProfile[] profiles;
+    private final @NotNull byte[] flags;
+    private final boolean hasNonPressurePlateLaunchpadMaterials;
+
+    /**
+     * Instantiates a new launch profile table
+     *
+     * @param profiles <p>The launch profile of each material, indexed by material ordinal</p>
+     * @param flags    <p>The classification flags of each material, indexed by material ordinal</p>
+     */
+    private LaunchProfileTable(@NotNull LaunchProfile[] profiles, @NotNull byte[] flags) {
+        this.profiles = profiles;
+        this.flags = flags;
+        boolean hasNonPressurePlateLaunchpadMaterials = false;
+        for (byte materialFlags : flags) {
+            if ((materialFlags & (LAUNCHPAD_MATERIAL | PRESSURE_PLATE)) == LAUNCHPAD_MATERIAL) {
+                hasNonPressurePlateLaunchpadMaterials = true;
+                break;
+            }
+        }
+        this.hasNonPressurePlateLaunchpadMaterials = hasNonPressurePlateLaunchpadMaterials;
+    }
+
+    /**
+     * Gets the launch profile of the given material
+     *
+     * @param material <p>The material to get the launch profile of</p>
+     * @return <p>The material's launch profile</p>
+     */
+    public @NotNull LaunchProfile get(@NotNull Material material) {
+        return this.profiles[material.ordinal()];
+    }
+
+    /**
+     * Checks whether blocks of the given material are launchpads without being registered
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is a launchpad material</p>
+     */
+    public boolean isLaunchpadMaterial(@NotNull Material material) {
+        return (this.flags[material.ordinal()] & LAUNCHPAD_MATERIAL) != 0;
+    }
+
+    /**
+     * Checks whether blocks of the given material can be registered as launchpads
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is whitelisted</p>
+     */
+    public boolean isWhitelisted(@NotNull Material material) {
+        return (this.flags[material.ordinal()] & WHITELISTED) != 0;
+    }
+
+    /**
+     * Checks whether the given material is a pressure plate
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is a pressure plate</p>
+     */
+    public boolean isPressurePlate(@NotNull Material material) {
+        return (this.flags[material.ordinal()] & PRESSURE_PLATE) != 0;
+    }
+
+    /**
+     * Checks whether the given material is any type of air
+     *
+     * <p>A player inside an air block may be standing on a launchpad in the block below.</p>
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is air</p>
+     */
+    public boolean isAir(@NotNull Material material) {
+        return (this.flags[material.ordinal()] & AIR) != 0;
+    }
+
+    /**
+     * Checks whether any material other than a pressure plate is a launchpad without being registered
+     *
+     * @return <p>True if at least one launchpad material which is not a pressure plate is configured</p>
+     */
+    public boolean hasNonPressurePlateLaunchpadMaterials() {
+        return this.hasNonPressurePlateLaunchpadMaterials;
+    }
+
+    /**
+     * Builds a launch profile table from the given configuration values
+     *
+     * @param horizontalVelocity           <p>The default horizontal velocity of all launchpads</p>
+     * @param verticalVelocity             <p>The default vertical velocity of all launchpads</p>
+     * @param materialHorizontalVelocities <p>The default horizontal velocities of specific materials</p>
+     * @param materialVerticalVelocities   <p>The default vertical velocities of specific materials</p>
+     * @param launchpadMaterials           <p>The materials which are launchpads without being registered</p>
+     * @param materialWhitelist            <p>The materials which can be registered as launchpads, or an empty set
+     *                                     to allow all materials</p>
+     * @return <p>The built launch profile table</p>
+     */
+    public static @NotNull LaunchProfileTable build(double horizontalVelocity, double verticalVelocity,
+                                                    @NotNull Map<Material, Double> materialHorizontalVelocities,
+                                                    @NotNull Map<Material, Double> materialVerticalVelocities,
+                                                    @NotNull Set<Material> launchpadMaterials,
+                                                    @NotNull Set<Material> materialWhitelist) {
+        Material[] materials = Material.values();
+        LaunchProfile[] profiles = new LaunchProfile[materials.length];
+        byte[] flags = new byte[materials.length];
+        Map<LaunchProfile, LaunchProfile> sharedProfiles = new HashMap<>();
+        Map<LaunchTrajectory, LaunchTrajectory> sharedTrajectories = new HashMap<>();
+        double defaultHorizontalVelocity = Math.max(horizontalVelocity, 0);
+        double defaultVerticalVelocity = Math.max(verticalVelocity, 0);
+        for (Material material : materials) {
+            double materialHorizontalVelocity = materialHorizontalVelocities.getOrDefault(material,
+                    defaultHorizontalVelocity);
+            double materialVerticalVelocity = materialVerticalVelocities.getOrDefault(material,
+                    defaultVerticalVelocity);
+            LaunchTrajectory trajectory = sharedTrajectories.computeIfAbsent(
+                    LaunchTrajectory.predict(materialHorizontalVelocity, materialVerticalVelocity), (key) -> key);
+            LaunchProfile profile = new LaunchProfile(materialHorizontalVelocity, materialVerticalVelocity,
+                    trajectory);
+            profiles[material.ordinal()] = sharedProfiles.computeIfAbsent(profile, (key) -> key);
+            flags[material.ordinal()] = getFlags(material, launchpadMaterials, materialWhitelist);
+        }
+        return new LaunchProfileTable(profiles, flags);
+    }
+
+    /**
+     * Gets the classification flags of the given material
+     *
+     * @param material           <p>The material to classify</p>
+     * @param launchpadMaterials <p>The materials which are launchpads without being registered</p>
+     * @param materialWhitelist  <p>The materials which can be registered as launchpads, or an empty set to allow
+     *                           all materials</p>
+     * @return <p>The material's classification flags</p>
+     */
+    private static byte getFlags(@NotNull Material material, @NotNull Set<Material> launchpadMaterials,
+                                 @NotNull Set<Material> materialWhitelist) {
+        byte flags = 0;
+        if (launchpadMaterials.contains(material)) {
+            flags |= LAUNCHPAD_MATERIAL;
+        }
+        if (materialWhitelist.isEmpty() || materialWhitelist.contains(material)) {
+            flags |= WHITELISTED;
+        }
+        if (Tag.PRESSURE_PLATES.isTagged(material)) {
+            flags |= PRESSURE_PLATE;
+        }
+        if (material.isAir()) {
+            flags |= AIR;
+        }
+        return flags;
+    }
+
+}
@@ -1,26 +1,44 @@
 package net.knarcraft.launchpad.config;
 
-import net.knarcraft.knarlib.particle.ParticleConfig;
-import net.knarcraft.knarlib.particle.ParticleSpawner;
+import net.knarcraft.knarlib.particle.ParticleMode;
 import net.knarcraft.knarlib.particle.ParticleTrailSpawner;
 import net.knarcraft.knarlib.util.MaterialHelper;
-import net.knarcraft.knarlib.util.ParticleHelper;
 import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.launchpad.DetectionMode;
+import net.knarcraft.launchpad.launchpad.LaunchDetector;
+import net.knarcraft.launchpad.launchpad.LaunchQueue;
+import net.knarcraft.launchpad.launchpad.LaunchStateHandler;
+import net.knarcraft.launchpad.launchpad.LaunchStatistics;
+import net.knarcraft.launchpad.launchpad.LaunchpadBlock;
 import net.knarcraft.launchpad.launchpad.LaunchpadBlockHandler;
+import net.knarcraft.launchpad.launchpad.LaunchpadSnapshot;
+import net.knarcraft.launchpad.particle.DetailDistances;
+import net.knarcraft.launchpad.particle.ParticleDetail;
+import net.knarcraft.launchpad.particle.ParticleScheduler;
+import net.knarcraft.launchpad.particle.ParticleShape;
+import net.knarcraft.launchpad.particle.TrailScheduler;
+import net.knarcraft.launchpad.storage.StorageType;
+import net.knarcraft.launchpad.util.PositionHelper;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
@@ -30,17 +48,31 @@ import java.util.logging.Level;
  */
 public class LaunchpadConfiguration {
 
-    private @NotNull FileConfiguration fileConfiguration;
-    private double horizontalVelocity;
-    private double verticalVelocity;
+    private static final String[] PARTICLE_PATHS = {"particles.enabled", "particles.spawnDelay", "particles.particle",
+            "particles.materialParticles", "particles.viewDistance",
+            "particles.maxParticlePacketsPerTick", "particles.detail"};
+    private static final String[] TRAIL_PATHS = {"particles.trailsEnabled", "particles.trailSpawnDelay",
+            "particles.trailType", "particles.randomTrailType", "particles.randomTrailWhitelist",
+            "particles.adaptiveTrails"};
+
+    private static final String[] LAUNCH_PROFILE_PATHS = {"horizontalVelocity", "verticalVelocity", "materials",
+            "materialWhitelist", "materialVelocities"};
+    private static final double CHUNK_SECTION_DIAGONAL = Math.sqrt(3 * 16 * 16);
+
+    private final @NotNull Location viewerLocation = new Location(null, 0, 0, 0);
+    private @NotNull Map<String, Object> loadedValues = new HashMap<>();
     private boolean particlesEnabled;
     private boolean trailsEnabled;
     private int particleTaskId = -1;
     private int particleTrailTaskId = -1;
-    private UUID particleStoredCalculationsId;
-    private ParticleTrailSpawner trailSpawner = null;
-    private @NotNull Set<Material> launchpadMaterials = new HashSet<>();
-    private @NotNull Set<Material> materialWhitelist = new HashSet<>();
+    private int statisticsTaskId = -1;
+    private TrailScheduler trailScheduler = null;
+    private double particleViewDistance;
+    private @NotNull List<Block> visibleLaunchpadBlocks = List.of();
+    private @Nullable LaunchpadSnapshot visibleSnapshot;
+    private long visibleViewerHash;
+    private @NotNull LaunchProfileTable launchProfiles = LaunchProfileTable.build(0, 0, Map.of(), Map.of(),
+            Set.of(), Set.of());
 
     /**
      * Instantiate a new launch pad configuration
@@ -48,17 +80,18 @@ public class LaunchpadConfiguration {
      * @param fileConfiguration <p>The file configuration to use</p>
      */
     public LaunchpadConfiguration(@NotNull FileConfiguration fileConfiguration) {
-        this.fileConfiguration = fileConfiguration;
         load(fileConfiguration);
     }
 
     /**
      * Loads this configuration from the given file configuration
      *
+     * <p>When reloading, the new configuration is compared to the previously loaded one, and only the parts that
+     * changed are rebuilt. Launchpads are only loaded from disk again if their stored data was changed.</p>
+     *
      * @param fileConfiguration <p>The file configuration to load</p>
      */
     public void load(@NotNull FileConfiguration fileConfiguration) {
-        this.fileConfiguration = fileConfiguration;
         ConfigurationSection launchpadSection = fileConfiguration.getConfigurationSection("launchpad");
         if (launchpadSection == null) {
             Launchpad.log(Level.WARNING, "Unable to load launchpad configuration. " +
@@ -66,16 +99,46 @@ public class LaunchpadConfiguration {
             return;
         }
 
-        this.launchpadMaterials = loadMaterials(launchpadSection, "materials");
-        this.materialWhitelist = loadMaterials(launchpadSection, "materialWhitelist");
+        Map<String, Object> values = getLeafValues(launchpadSection);
+        if (hasChanged(values, LAUNCH_PROFILE_PATHS)) {
+            this.launchProfiles = loadLaunchProfiles(launchpadSection);
+            LaunchpadBlock.invalidateDefaults();
+        }
+
+        LaunchStateHandler.setCooldown(launchpadSection.getInt("launchCooldown", 10));
+        LaunchDetector.setDetectionMode(loadDetectionMode(launchpadSection),
+                launchpadSection.getInt("detection.maxPlayersPerTick", 100));
+        loadStatistics(launchpadSection);
+
+        // Load launchpad blocks, unless the loaded launchpads are up-to-date
+        LaunchpadBlockHandler.setStorageType(loadStorageType(launchpadSection));
+        LaunchpadBlockHandler.loadIfChanged();
+        LaunchpadBlockHandler.setSaveInterval(launchpadSection.getInt("storage.saveInterval", 100));
 
-        this.horizontalVelocity = launchpadSection.getDouble("horizontalVelocity");
-        this.verticalVelocity = launchpadSection.getDouble("verticalVelocity");
+        loadParticleConfiguration(launchpadSection, values);
+        this.loadedValues = values;
+    }
 
-        // Load launchpad blocks
-        LaunchpadBlockHandler.loadAll();
+    /**
+     * Gets the launch profile of the given material
+     *
+     * @param material <p>The material to get the launch profile of</p>
+     * @return <p>The material's launch profile</p>
+     */
+    public @NotNull LaunchProfile getLaunchProfile(@NotNull Material material) {
+        return this.launchProfiles.get(material);
+    }
 
-        loadParticleConfiguration(launchpadSection);
+    /**
+     * Checks whether any material other than a pressure plate is used for launchpads without being registered
+     *
+     * <p>If so, a launchpad which is triggered by moving onto it may be found in any chunk. Pressure plates are
+     * triggered when activated instead, so they never need to be found by moving.</p>
+     *
+     * @return <p>True if at least one launchpad material which is not a pressure plate is configured</p>
+     */
+    public boolean hasNonPressurePlateLaunchpadMaterials() {
+        return this.launchProfiles.hasNonPressurePlateLaunchpadMaterials();
     }
 
     /**
@@ -85,7 +148,7 @@ public class LaunchpadConfiguration {
      * @return <p>True if the given material is not used for launchpads</p>
      */
     public boolean isNotLaunchpadMaterial(@NotNull Material material) {
-        return !this.launchpadMaterials.contains(material);
+        return !this.launchProfiles.isLaunchpadMaterial(material);
     }
 
     /**
@@ -95,7 +158,27 @@ public class LaunchpadConfiguration {
      * @return <p>True if the material is whitelisted</p>
      */
     public boolean isMaterialWhitelisted(@NotNull Material material) {
-        return this.materialWhitelist.isEmpty() || this.materialWhitelist.contains(material);
+        return this.launchProfiles.isWhitelisted(material);
+    }
+
+    /**
+     * Checks whether the given material is a pressure plate
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is a pressure plate</p>
+     */
+    public boolean isPressurePlate(@NotNull Material material) {
+        return this.launchProfiles.isPressurePlate(material);
+    }
+
+    /**
+     * Checks whether the given material is any type of air
+     *
+     * @param material <p>The material to check</p>
+     * @return <p>True if the material is air</p>
+     */
+    public boolean isAir(@NotNull Material material) {
+        return this.launchProfiles.isAir(material);
     }
 
     /**
@@ -105,12 +188,7 @@ public class LaunchpadConfiguration {
      * @return <p>The default horizontal velocity</p>
      */
     public double getHorizontalVelocity(@NotNull Material material) {
-        double materialVelocity = fileConfiguration.getDouble(
-                String.format("launchpad.materialVelocities.%s.horizontalVelocity", material.name()), -1);
-        if (materialVelocity >= 0) {
-            return materialVelocity;
-        }
-        return Math.max(this.horizontalVelocity, 0);
+        return this.launchProfiles.get(material).horizontalVelocity();
     }
 
     /**
@@ -120,12 +198,22 @@ public class LaunchpadConfiguration {
      * @return <p>The default vertical velocity</p>
      */
     public double getVerticalVelocity(@NotNull Material material) {
-        double materialVelocity = fileConfiguration.getDouble(
-                String.format("launchpad.materialVelocities.%s.verticalVelocity", material.name()), -1);
-        if (materialVelocity >= 0) {
-            return materialVelocity;
-        }
-        return Math.max(this.verticalVelocity, 0);
+        return this.launchProfiles.get(material).verticalVelocity();
+    }
+
+    /**
+     * Compiles the configured velocities and materials into a launch profile table
+     *
+     * @param launchpadSection <p>The configuration section containing launchpad values</p>
+     * @return <p>The compiled launch profile table</p>
+     */
+    private @NotNull LaunchProfileTable loadLaunchProfiles(@NotNull ConfigurationSection launchpadSection) {
+        Map<Material, Double> horizontalVelocities = new EnumMap<>(Material.class);
+        Map<Material, Double> verticalVelocities = new EnumMap<>(Material.class);
+        loadMaterialVelocities(launchpadSection, horizontalVelocities, verticalVelocities);
+        return LaunchProfileTable.build(launchpadSection.getDouble("horizontalVelocity"),
+                launchpadSection.getDouble("verticalVelocity"), horizontalVelocities, verticalVelocities,
+                loadMaterials(launchpadSection, "materials"), loadMaterials(launchpadSection, "materialWhitelist"));
     }
 
     /**
@@ -148,14 +236,152 @@ public class LaunchpadConfiguration {
         return loadedMaterials;
     }
 
+    /**
+     * Loads the type of storage to use for launchpads
+     *
+     * @param launchpadSection <p>The configuration section containing launchpad values</p>
+     * @return <p>The configured storage type</p>
+     */
+    private @NotNull StorageType loadStorageType(@NotNull ConfigurationSection launchpadSection) {
+        String storageType = launchpadSection.getString("storage.type", StorageType.BINARY.name());
+        try {
+            return StorageType.valueOf(storageType.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            Launchpad.log(Level.WARNING, "Unknown storage type " + storageType + ". Using BINARY storage.");
+            return StorageType.BINARY;
+        }
+    }
+
+    /**
+     * Loads the mode to use for detecting players hitting launchpads
+     *
+     * @param launchpadSection <p>The configuration section containing launchpad values</p>
+     * @return <p>The configured detection mode</p>
+     */
+    private @NotNull DetectionMode loadDetectionMode(@NotNull ConfigurationSection launchpadSection) {
+        String detectionMode = launchpadSection.getString("detection.mode", DetectionMode.EVENT.name());
+        try {
+            return DetectionMode.valueOf(detectionMode.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            Launchpad.log(Level.WARNING, "Unknown detection mode " + detectionMode + ". Using EVENT detection.");
+            return DetectionMode.EVENT;
+        }
+    }
+
+    /**
+     * Starts or stops logging launch statistics, as configured
+     *
+     * @param launchpadSection <p>The configuration section containing launchpad values</p>
+     */
+    private void loadStatistics(@NotNull ConfigurationSection launchpadSection) {
+        if (statisticsTaskId != -1) {
+            Bukkit.getScheduler().cancelTask(statisticsTaskId);
+            statisticsTaskId = -1;
+        }
+        if (!launchpadSection.getBoolean("statistics.enabled", false)) {
+            LaunchQueue.setMetrics(null);
+            LaunchDetector.setMetrics(null);
+            return;
+        }
+        int logInterval = Math.max(launchpadSection.getInt("statistics.logInterval", 1200), 1);
+        LaunchStatistics statistics = new LaunchStatistics(logInterval);
+        LaunchQueue.setMetrics(statistics);
+        LaunchDetector.setMetrics(statistics);
+        statisticsTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(), statistics,
+                logInterval, logInterval);
+    }
+
+    /**
+     * Loads the default velocities for specific launchpad materials
+     *
+     * @param launchpadSection     <p>The configuration section containing launchpad values</p>
+     * @param horizontalVelocities <p>The map to add the loaded horizontal velocities to</p>
+     * @param verticalVelocities   <p>The map to add the loaded vertical velocities to</p>
+     */
+    private void loadMaterialVelocities(@NotNull ConfigurationSection launchpadSection,
+                                        @NotNull Map<Material, Double> horizontalVelocities,
+                                        @NotNull Map<Material, Double> verticalVelocities) {
+        ConfigurationSection velocitiesSection = launchpadSection.getConfigurationSection("materialVelocities");
+        if (velocitiesSection != null) {
+            for (String key : velocitiesSection.getKeys(false)) {
+                Material material = Material.getMaterial(key);
+                if (material == null) {
+                    Launchpad.log(Level.WARNING, "Unable to parse material " + key + " from materialVelocities.");
+                    continue;
+                }
+                double materialHorizontalVelocity = velocitiesSection.getDouble(key + ".horizontalVelocity", -1);
+                if (materialHorizontalVelocity >= 0) {
+                    horizontalVelocities.put(material, materialHorizontalVelocity);
+                }
+                double materialVerticalVelocity = velocitiesSection.getDouble(key + ".verticalVelocity", -1);
+                if (materialVerticalVelocity >= 0) {
+                    verticalVelocities.put(material, materialVerticalVelocity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets all non-section values in the given configuration section
+     *
+     * @param configurationSection <p>The configuration section to read</p>
+     * @return <p>All values, keyed by their full path relative to the section</p>
+     */
+    private static @NotNull Map<String, Object> getLeafValues(@NotNull ConfigurationSection configurationSection) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, Object> entry : configurationSection.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Checks whether any value at or below the given paths differs from the previously loaded configuration
+     *
+     * @param values <p>The values of the configuration being loaded</p>
+     * @param paths  <p>The paths to check</p>
+     * @return <p>True if at least one of the values has changed</p>
+     */
+    private boolean hasChanged(@NotNull Map<String, Object> values, @NotNull String... paths) {
+        for (String path : paths) {
+            if (differs(values, this.loadedValues, path) || differs(this.loadedValues, values, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any value at or below the given path is missing or different in the other values
+     *
+     * @param values      <p>The values to check</p>
+     * @param otherValues <p>The values to compare to</p>
+     * @param path        <p>The path to check</p>
+     * @return <p>True if at least one of the values differs</p>
+     */
+    private static boolean differs(@NotNull Map<String, Object> values, @NotNull Map<String, Object> otherValues,
+                                   @NotNull String path) {
+        String prefix = path + ".";
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = entry.getKey();
+            if ((key.equals(path) || key.startsWith(prefix)) &&
+                    !Objects.equals(entry.getValue(), otherValues.get(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Adds a trail behind the player with the given id
      *
      * @param playerId <p>The id of the player to add the trail to</p>
      */
     public void addTrail(UUID playerId) {
-        if (trailSpawner != null) {
-            trailSpawner.startTrail(playerId);
+        if (trailScheduler != null) {
+            trailScheduler.startTrail(playerId);
         }
     }
 
@@ -165,44 +391,57 @@ public class LaunchpadConfiguration {
      * @param playerId <p>The id of the player to remove the trail for</p>
      */
     public void removeTrail(UUID playerId) {
-        if (trailSpawner != null) {
-            trailSpawner.removeTrail(playerId);
+        if (trailScheduler != null) {
+            trailScheduler.removeTrail(playerId);
         }
     }
 
     /**
      * Loads configuration values related to launchpad particles
      *
+     * <p>The particle and trail tasks are only restarted if their configuration values changed.</p>
+     *
      * @param launchpadSection <p>The configuration section containing launchpad values</p>
+     * @param values           <p>The values of the configuration being loaded</p>
      */
-    private void loadParticleConfiguration(ConfigurationSection launchpadSection) {
+    private void loadParticleConfiguration(@NotNull ConfigurationSection launchpadSection,
+                                           @NotNull Map<String, Object> values) {
         ConfigurationSection particlesSection = launchpadSection.getConfigurationSection("particles");
         if (particlesSection == null) {
             Launchpad.log(Level.WARNING, "Unable to load particles configuration. " +
                     "The \"particles\" configuration section is missing.");
             return;
         }
-        boolean previousEnabled = this.particlesEnabled;
-        boolean previousTrailsEnabled = this.trailsEnabled;
-        this.particlesEnabled = particlesSection.getBoolean("enabled", false);
-        this.trailsEnabled = particlesSection.getBoolean("trailsEnabled", false);
-
-        // Cancel previous particle spawning task if previously enabled
-        if (previousEnabled) {
-            Bukkit.getScheduler().cancelTask(particleTaskId);
-            ParticleHelper.clearStoredCalculations(particleStoredCalculationsId);
-        }
-        if (previousTrailsEnabled) {
-            Bukkit.getScheduler().cancelTask(particleTrailTaskId);
-        }
 
-        // Start particle spawning if enabled
-        if (this.particlesEnabled) {
-            loadLaunchpadParticleConfig(particlesSection);
+        if (hasChanged(values, PARTICLE_PATHS)) {
+            // Cancel previous particle spawning task if previously enabled
+            if (this.particlesEnabled) {
+                Bukkit.getScheduler().cancelTask(particleTaskId);
+                particleTaskId = -1;
+            }
+
+            // Start particle spawning if enabled
+            this.particlesEnabled = particlesSection.getBoolean("enabled", false);
+            if (this.particlesEnabled) {
+                loadLaunchpadParticleConfig(particlesSection);
+            }
         }
 
-        if (this.trailsEnabled) {
-            loadTrailParticleConfig(particlesSection);
+        if (hasChanged(values, TRAIL_PATHS)) {
+            // Keep the trails of players still in flight, so they are not left without one until their next launch
+            Set<UUID> activeTrails = Set.of();
+            if (this.trailsEnabled) {
+                Bukkit.getScheduler().cancelTask(particleTrailTaskId);
+                particleTrailTaskId = -1;
+                activeTrails = trailScheduler.getActiveTrails();
+                trailScheduler = null;
+            }
+
+            this.trailsEnabled = particlesSection.getBoolean("trailsEnabled", false);
+            if (this.trailsEnabled) {
+                loadTrailParticleConfig(particlesSection);
+                activeTrails.forEach(trailScheduler::startTrail);
+            }
         }
     }
 
@@ -229,9 +468,19 @@ public class LaunchpadConfiguration {
                         " from the random trail type whitelist.");
             }
         }
-        trailSpawner = new ParticleTrailSpawner(trailType, randomTrailType, new ArrayList<>(randomTrailWhitelist));
+        ParticleTrailSpawner trailSpawner = new ParticleTrailSpawner(trailType, randomTrailType,
+                new ArrayList<>(randomTrailWhitelist));
+        int trailSpawnDelay = particlesSection.getInt("trailSpawnDelay", 1);
+        if (particlesSection.getBoolean("adaptiveTrails.enabled", false)) {
+            trailScheduler = new TrailScheduler(trailSpawner, trailSpawnDelay,
+                    particlesSection.getInt("adaptiveTrails.maxSpawnDelay", 20),
+                    particlesSection.getDouble("adaptiveTrails.maxTickTime", 55),
+                    particlesSection.getInt("adaptiveTrails.fullRateTrails", 20));
+        } else {
+            trailScheduler = new TrailScheduler(trailSpawner, trailSpawnDelay);
+        }
         particleTrailTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(),
-                trailSpawner, 20, particlesSection.getInt("trailSpawnDelay", 1));
+                trailScheduler, 20, 1);
     }
 
     /**
@@ -241,55 +490,154 @@ public class LaunchpadConfiguration {
      */
     private void loadLaunchpadParticleConfig(ConfigurationSection particlesSection) {
         ConfigurationSection particleSection = particlesSection.getConfigurationSection("particle");
-        ParticleConfig particleConfig = null;
-        if (particleSection != null) {
-            particleConfig = new ParticleConfig(particleSection);
+        if (particleSection == null) {
+            return;
         }
+        double reducedDensityMultiplier = Math.max(particlesSection.getDouble("detail.reducedDensityMultiplier",
+                4), 1);
+        ParticleDetail particleDetail = loadParticleDetail(particleSection, reducedDensityMultiplier);
 
         // Load any per-material configuration options
-        Map<Material, ParticleConfig> materialConfigs;
+        Map<Material, ParticleDetail> materialDetails;
         ConfigurationSection perMaterialSection = particlesSection.getConfigurationSection("materialParticles");
         if (perMaterialSection != null) {
-            materialConfigs = loadMaterialParticleConfigs(perMaterialSection);
+            materialDetails = loadMaterialParticleDetails(perMaterialSection, reducedDensityMultiplier);
         } else {
-            materialConfigs = new HashMap<>();
+            materialDetails = new EnumMap<>(Material.class);
         }
 
-        if (particleConfig != null) {
-            ParticleSpawner particleSpawner = new ParticleSpawner(particleConfig, materialConfigs, this::getLaunchpadBlocks);
-            particleTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(), particleSpawner,
-                    20, particlesSection.getInt("spawnDelay", 20));
-            particleStoredCalculationsId = particleSpawner.getStoredCalculationId();
-        }
+        this.particleViewDistance = Math.max(particlesSection.getDouble("viewDistance", 48), 1);
+        this.visibleSnapshot = null;
+        DetailDistances distances = DetailDistances.of(particlesSection.getDouble("detail.fullDistance", 16),
+                particlesSection.getDouble("detail.reducedDistance", 32), this.particleViewDistance);
+        ParticleScheduler particleScheduler = new ParticleScheduler(particleDetail, materialDetails,
+                this::getVisibleLaunchpadBlocks, distances, particlesSection.getInt("spawnDelay", 20),
+                particlesSection.getInt("maxParticlePacketsPerTick", 5000));
+        particleTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(),
+                particleScheduler, 20, 1);
     }
 
-    private Collection<Block> getLaunchpadBlocks() {
+    /**
+     * Gets the blocks of all launchpads within the particle view distance of at least one player
+     *
+     * <p>Only the chunks around each player are searched, so launchpads without any nearby players cost nothing. The
+     * result is reused until the launchpad snapshot changes, or a player moves to a different chunk section.
+     * As players move freely within their chunk section, the search radius is extended by the section's diagonal.
+     * Launchpads which are out of view are skipped when spawning particles.</p>
+     *
+     * @return <p>The blocks of all visible launchpads</p>
+     */
+    private @NotNull Collection<Block> getVisibleLaunchpadBlocks() {
+        LaunchpadSnapshot snapshot = LaunchpadBlockHandler.getSnapshot();
+        long viewerHash = getViewerHash();
+        if (snapshot == this.visibleSnapshot && viewerHash == this.visibleViewerHash) {
+            return this.visibleLaunchpadBlocks;
+        }
+        this.visibleSnapshot = snapshot;
+        this.visibleViewerHash = viewerHash;
+        if (snapshot.launchpads().isEmpty()) {
+            this.visibleLaunchpadBlocks = List.of();
+            return this.visibleLaunchpadBlocks;
+        }
+
         Set<Block> blocks = new HashSet<>();
-        LaunchpadBlockHandler.getAll().forEach((item) -> blocks.add(item.getBlock()));
-        return blocks;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            World world = player.getLocation(viewerLocation).getWorld();
+            if (world == null) {
+                continue;
+            }
+            LaunchpadBlockHandler.forEachInRadius(world.getUID(), viewerLocation.getX(), viewerLocation.getY(),
+                    viewerLocation.getZ(), this.particleViewDistance + CHUNK_SECTION_DIAGONAL,
+                    (item) -> blocks.add(item.getBlock()));
+        }
+        this.visibleLaunchpadBlocks = List.copyOf(blocks);
+        return this.visibleLaunchpadBlocks;
+    }
+
+    /**
+     * Gets a hash of the world and chunk section of every online player
+     *
+     * @return <p>A hash which changes when any player moves to a different chunk section</p>
+     */
+    private long getViewerHash() {
+        long hash = 1;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            World world = player.getLocation(viewerLocation).getWorld();
+            hash = 31 * hash + (world != null ? world.getUID().hashCode() : 0);
+            hash = 31 * hash + PositionHelper.getBlockKey(viewerLocation.getBlockX() >> 4,
+                    viewerLocation.getBlockY() >> 4, viewerLocation.getBlockZ() >> 4);
+        }
+        return hash;
     }
 
     /**
      * Loads all per-material particle configuration options
      *
-     * @param perMaterialSection <p>The configuration section containing per-material particle options</p>
-     * @return <p>The loaded per-material particle configuration options</p>
+     * @param perMaterialSection       <p>The configuration section containing per-material particle options</p>
+     * @param reducedDensityMultiplier <p>The multiplier applied to the particle density of reduced shapes</p>
+     * @return <p>The loaded per-material particle shapes</p>
      */
-    private @NotNull Map<Material, ParticleConfig> loadMaterialParticleConfigs(
-            @NotNull ConfigurationSection perMaterialSection) {
-        Map<Material, ParticleConfig> materialConfigs = new HashMap<>();
+    private @NotNull Map<Material, ParticleDetail> loadMaterialParticleDetails(
+            @NotNull ConfigurationSection perMaterialSection, double reducedDensityMultiplier) {
+        Map<Material, ParticleDetail> materialDetails = new EnumMap<>(Material.class);
         for (String key : perMaterialSection.getKeys(false)) {
             Set<Material> materials = MaterialHelper.loadMaterialString(key, "+", Launchpad.getInstance().getLogger());
             ConfigurationSection materialSection = perMaterialSection.getConfigurationSection(key);
             if (materialSection == null) {
                 continue;
             }
-            ParticleConfig materialParticleConfig = new ParticleConfig(materialSection);
+            ParticleDetail materialParticleDetail = loadParticleDetail(materialSection, reducedDensityMultiplier);
             for (Material material : materials) {
-                materialConfigs.put(material, materialParticleConfig);
+                materialDetails.put(material, materialParticleDetail);
             }
         }
-        return materialConfigs;
+        return materialDetails;
+    }
+
+    /**
+     * Loads the particle shapes described by the given particle configuration, at every level of detail
+     *
+     * @param particleSection          <p>The configuration section describing the particle</p>
+     * @param reducedDensityMultiplier <p>The multiplier applied to the particle density of the reduced shape</p>
+     * @return <p>The loaded particle shapes</p>
+     */
+    private @NotNull ParticleDetail loadParticleDetail(@NotNull ConfigurationSection particleSection,
+                                                       double reducedDensityMultiplier) {
+        String modeString = particleSection.getString("mode", ParticleMode.SINGLE.name());
+        ParticleMode mode;
+        try {
+            mode = ParticleMode.valueOf(modeString.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            Launchpad.log(Level.WARNING, "Unknown particle mode " + modeString + ". Using SINGLE mode.");
+            mode = ParticleMode.SINGLE;
+        }
+        String typeString = particleSection.getString("type", Particle.ASH.name());
+        Particle type;
+        try {
+            type = Particle.valueOf(typeString.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            Launchpad.log(Level.WARNING, "Unknown particle type " + typeString + ". Using ASH particles.");
+            type = Particle.ASH;
+        }
+        if (type.getDataType() != Void.class) {
+            Launchpad.log(Level.WARNING, "Particle type " + type + " requires extra data, and cannot be used " +
+                    "above launchpads. Using ASH particles.");
+            type = Particle.ASH;
+        }
+
+        int amount = particleSection.getInt("amount", 1);
+        double offsetX = particleSection.getDouble("offsetX", 0);
+        double offsetY = particleSection.getDouble("offsetY", 0);
+        double offsetZ = particleSection.getDouble("offsetZ", 0);
+        double heightOffset = particleSection.getDouble("heightOffset", 0.5);
+        double density = particleSection.getDouble("particleDensity", 0.1);
+        double extra = particleSection.getDouble("extra", 0);
+        return new ParticleDetail(
+                ParticleShape.create(mode, type, amount, offsetX, offsetY, offsetZ, heightOffset, density, extra),
+                ParticleShape.create(mode, type, amount, offsetX, offsetY, offsetZ, heightOffset,
+                        density * reducedDensityMultiplier, extra),
+                ParticleShape.create(ParticleMode.SINGLE, type, amount, offsetX, offsetY, offsetZ, heightOffset,
+                        density, extra));
     }
 
 }
@@ -0,0 +1,106 @@
+package net.knarcraft.launchpad.event;
+
+import net.knarcraft.launchpad.launchpad.LaunchpadBlock;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An event triggered when a player is about to be launched by a launchpad
+ *
+ * <p>The launch velocity can be changed, and cancelling this event prevents the player from being launched.</p>
+ */
+public class LaunchpadLaunchEvent extends PlayerEvent implements Cancellable {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    private final @NotNull Block block;
+    private final @Nullable LaunchpadBlock launchpadBlock;
+    private @NotNull Vector velocity;
+    private boolean cancelled;
+
+    /**
+     * Instantiates a new launchpad launch event
+     *
+     * @param player         <p>The player about to be launched</p>
+     * @param block          <p>The launchpad's block</p>
+     * @param launchpadBlock <p>The registered launchpad, or null if the block is a launchpad because of its
+     *                       material</p>
+     * @param velocity       <p>The velocity the player will be launched with</p>
+     */
+    public LaunchpadLaunchEvent(@NotNull Player player, @NotNull Block block, @Nullable LaunchpadBlock launchpadBlock,
+                                @NotNull Vector velocity) {
+        super(player);
+        this.block = block;
+        this.launchpadBlock = launchpadBlock;
+        this.velocity = velocity;
+    }
+
+    /**
+     * Gets the block of the launchpad launching the player
+     *
+     * @return <p>The launchpad's block</p>
+     */
+    public @NotNull Block getBlock() {
+        return this.block;
+    }
+
+    /**
+     * Gets the registered launchpad launching the player
+     *
+     * @return <p>The registered launchpad, or null if the block is a launchpad because of its material</p>
+     */
+    public @Nullable LaunchpadBlock getLaunchpadBlock() {
+        return this.launchpadBlock;
+    }
+
+    /**
+     * Gets the velocity the player will be launched with
+     *
+     * <p>The returned vector can be modified directly.</p>
+     *
+     * @return <p>The launch velocity</p>
+     */
+    public @NotNull Vector getVelocity() {
+        return this.velocity;
+    }
+
+    /**
+     * Sets the velocity the player will be launched with
+     *
+     * @param velocity <p>The new launch velocity</p>
+     */
+    public void setVelocity(@NotNull Vector velocity) {
+        this.velocity = velocity;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Gets the handler list of this event
+     *
+     * @return <p>The handler list of this event</p>
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return handlers;
+    }
+
+}
@@ -0,0 +1,83 @@
+package net.knarcraft.launchpad.event;
+
+import net.knarcraft.launchpad.launchpad.LaunchpadBlock;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An event triggered when a player hits a launchpad, before the launch velocity is calculated
+ *
+ * <p>Cancelling this event prevents the player from being launched. The event is triggered again the next time the
+ * player hits a launchpad.</p>
+ */
+public class LaunchpadPreLaunchEvent extends PlayerEvent implements Cancellable {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    private final @NotNull Block block;
+    private final @Nullable LaunchpadBlock launchpadBlock;
+    private boolean cancelled;
+
+    /**
+     * Instantiates a new launchpad pre-launch event
+     *
+     * @param player         <p>The player that hit the launchpad</p>
+     * @param block          <p>The launchpad's block</p>
+     * @param launchpadBlock <p>The registered launchpad, or null if the block is a launchpad because of its
+     *                       material</p>
+     */
+    public LaunchpadPreLaunchEvent(@NotNull Player player, @NotNull Block block,
+                                   @Nullable LaunchpadBlock launchpadBlock) {
+        super(player);
+        this.block = block;
+        this.launchpadBlock = launchpadBlock;
+    }
+
+    /**
+     * Gets the block of the launchpad the player hit
+     *
+     * @return <p>The launchpad's block</p>
+     */
+    public @NotNull Block getBlock() {
+        return this.block;
+    }
+
+    /**
+     * Gets the registered launchpad the player hit
+     *
+     * @return <p>The registered launchpad, or null if the block is a launchpad because of its material</p>
+     */
+    public @Nullable LaunchpadBlock getLaunchpadBlock() {
+        return this.launchpadBlock;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Gets the handler list of this event
+     *
+     * @return <p>The handler list of this event</p>
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return handlers;
+    }
+
+}
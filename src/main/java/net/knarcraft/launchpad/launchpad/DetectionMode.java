@@ -0,0 +1,19 @@
+package net.knarcraft.launchpad.launchpad;
+
+/**
+ * The ways players hitting launchpads can be detected
+ */
+public enum DetectionMode {
+
+    /**
+     * Launchpads are detected whenever a player moves into a new block
+     */
+    EVENT,
+
+    /**
+     * Once per tick, players in chunks which may contain launchpads are checked
+     */
+    TICK,
+    ;
+
+}
@@ -0,0 +1,164 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.listener.LaunchpadMoveListener;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A handler for the engine used to detect players hitting launchpads
+ *
+ * <p>In event mode, a move listener checks every player entering a new block. In tick mode, no move listener is
+ * registered. Instead, once per tick, only players in chunks which may contain launchpads are checked, and at most a
+ * configured amount of them. If more players are eligible, the remaining players are checked in the following
+ * ticks.</p>
+ */
+public final class LaunchDetector {
+
+    private static final LaunchpadMoveListener moveListener = new LaunchpadMoveListener();
+    private static final List<Player> candidates = new ArrayList<>();
+    private static final Map<UUID, CheckedPosition> checkedPositions = new HashMap<>();
+    private static final Location location = new Location(null, 0, 0, 0);
+    private static @Nullable DetectionMode detectionMode;
+    private static int maxPlayersPerTick = 100;
+    private static int detectionTaskId = -1;
+    private static int cursor;
+    private static @Nullable LaunchMetrics metrics;
+
+    private LaunchDetector() {
+
+    }
+
+    /**
+     * Sets the mode used to detect players hitting launchpads
+     *
+     * @param detectionMode     <p>The detection mode to use</p>
+     * @param maxPlayersPerTick <p>The maximum number of players to check each tick in tick mode</p>
+     */
+    public static void setDetectionMode(@NotNull DetectionMode detectionMode, int maxPlayersPerTick) {
+        LaunchDetector.maxPlayersPerTick = Math.max(maxPlayersPerTick, 1);
+        if (detectionMode == LaunchDetector.detectionMode) {
+            return;
+        }
+        LaunchDetector.detectionMode = detectionMode;
+        if (detectionMode == DetectionMode.EVENT) {
+            if (detectionTaskId != -1) {
+                Bukkit.getScheduler().cancelTask(detectionTaskId);
+                detectionTaskId = -1;
+            }
+            checkedPositions.clear();
+            Bukkit.getPluginManager().registerEvents(moveListener, Launchpad.getInstance());
+        } else {
+            HandlerList.unregisterAll(moveListener);
+            detectionTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(),
+                    LaunchDetector::detectLaunches, 1, 1);
+        }
+    }
+
+    /**
+     * Sets the metrics receiving statistics about each tick of tick-based detection
+     *
+     * @param metrics <p>The metrics to use, or null to stop recording metrics</p>
+     */
+    public static void setMetrics(@Nullable LaunchMetrics metrics) {
+        LaunchDetector.metrics = metrics;
+    }
+
+    /**
+     * Forgets the last checked position of the given player
+     *
+     * @param playerId <p>The id of the player to forget</p>
+     */
+    public static void removePlayer(@NotNull UUID playerId) {
+        checkedPositions.remove(playerId);
+    }
+
+    /**
+     * Checks the players in chunks which may contain launchpads, up to the maximum number of players per tick
+     */
+    private static void detectLaunches() {
+        long startTime = System.nanoTime();
+        // Any chunk may contain launchpads if launchpad materials are configured. Pressure plates are not detected by
+        // moving, so they don't count.
+        boolean checkAllChunks = Launchpad.getInstance().getConfiguration().hasNonPressurePlateLaunchpadMaterials();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            World world = player.getLocation(location).getWorld();
+            if (world != null && (checkAllChunks || LaunchpadBlockHandler.hasLaunchpads(world.getUID(),
+                    location.getBlockX() >> 4, location.getBlockZ() >> 4))) {
+                candidates.add(player);
+            }
+        }
+
+        int candidateCount = candidates.size();
+        int checkedCount = Math.min(candidateCount, maxPlayersPerTick);
+        if (cursor >= candidateCount) {
+            cursor = 0;
+        }
+        for (int i = 0; i < checkedCount; i++) {
+            checkPlayer(candidates.get((cursor + i) % candidateCount));
+        }
+        if (candidateCount > 0) {
+            cursor = (cursor + checkedCount) % candidateCount;
+        }
+        candidates.clear();
+
+        LaunchMetrics metrics = LaunchDetector.metrics;
+        if (metrics != null) {
+            metrics.recordDetection(candidateCount, checkedCount, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Checks whether the given player is standing on a launchpad, unless the player hasn't moved to a new block
+     *
+     * @param player <p>The player to check</p>
+     */
+    private static void checkPlayer(@NotNull Player player) {
+        player.getLocation(location);
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        int belowY = Location.locToBlock(location.getY() - 0.2);
+
+        CheckedPosition checkedPosition = checkedPositions.computeIfAbsent(player.getUniqueId(),
+                (key) -> new CheckedPosition());
+        UUID worldId = world.getUID();
+        long blockKey = PositionHelper.getBlockKey(x, y, z);
+        if (worldId.equals(checkedPosition.worldId) && checkedPosition.blockKey == blockKey &&
+                checkedPosition.belowY == belowY) {
+            return;
+        }
+        checkedPosition.worldId = worldId;
+        checkedPosition.blockKey = blockKey;
+        checkedPosition.belowY = belowY;
+        LaunchHandler.checkPosition(player, world, x, y, z, belowY);
+    }
+
+    /**
+     * The position a player was last checked at
+     */
+    private static final class CheckedPosition {
+
+        private @Nullable UUID worldId;
+        private long blockKey;
+        private int belowY;
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.config.LaunchProfile;
+import net.knarcraft.launchpad.config.LaunchpadConfiguration;
+import net.knarcraft.launchpad.event.LaunchpadLaunchEvent;
+import net.knarcraft.launchpad.event.LaunchpadPreLaunchEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A handler for detecting players hitting launchpads, and launching them
+ */
+public final class LaunchHandler {
+
+    private static final Location location = new Location(null, 0, 0, 0);
+
+    private LaunchHandler() {
+
+    }
+
+    /**
+     * Launches a player that activated a pressure plate, if the pressure plate is a launchpad
+     *
+     * @param player <p>The player that activated the pressure plate</p>
+     * @param block  <p>The pressure plate's block</p>
+     */
+    public static void activatePressurePlate(@NotNull Player player, @NotNull Block block) {
+        // A registered launchpad ignores material checks
+        LaunchpadBlock launchpad = LaunchpadBlockHandler.getLaunchpadBlock(block);
+        if (launchpad == null &&
+                Launchpad.getInstance().getConfiguration().isNotLaunchpadMaterial(block.getType())) {
+            return;
+        }
+
+        launch(player, block.getWorld(), block.getX(), block.getY(), block.getZ(), launchpad, block.getType());
+    }
+
+    /**
+     * Launches a player that entered a new block, if the player is standing on a launchpad
+     *
+     * @param player <p>The player to check</p>
+     * @param world  <p>The world the player is in</p>
+     * @param x      <p>The x-coordinate of the player's block</p>
+     * @param y      <p>The y-coordinate of the player's block</p>
+     * @param z      <p>The z-coordinate of the player's block</p>
+     * @param belowY <p>The y-coordinate of the block just below the player's feet</p>
+     */
+    public static void checkPosition(@NotNull Player player, @NotNull World world, int x, int y, int z, int belowY) {
+        // If the player is standing on a non-full block, the player's block is the correct block, but if not, the
+        // block below has to be checked instead.
+        LaunchpadConfiguration configuration = Launchpad.getInstance().getConfiguration();
+        Material type = world.getType(x, y, z);
+        boolean isBelow = false;
+        if (configuration.isAir(type)) {
+            y = belowY;
+            type = world.getType(x, y, z);
+            isBelow = true;
+            if (configuration.isAir(type)) {
+                return;
+            }
+        }
+
+        // Pressure plates are detected in activatePressurePlate instead
+        if (configuration.isPressurePlate(type)) {
+            return;
+        }
+        UUID worldId = world.getUID();
+        LaunchpadBlock launchpad = LaunchpadBlockHandler.getLaunchpadBlock(worldId, x, y, z);
+        if (launchpad == null && configuration.isNotLaunchpadMaterial(type)) {
+            return;
+        }
+
+        // Only trigger hit detection for passable blocks if the player is in the block
+        if (isBelow && world.getBlockAt(x, y, z).isPassable()) {
+            return;
+        }
+
+        launch(player, world, x, y, z, launchpad, type);
+    }
+
+    /**
+     * Launches a player that hit a launchpad, unless the player was just launched, or the launch is cancelled
+     *
+     * @param player         <p>The player that hit the launchpad</p>
+     * @param world          <p>The world containing the launchpad</p>
+     * @param x              <p>The x-coordinate of the launchpad</p>
+     * @param y              <p>The y-coordinate of the launchpad</p>
+     * @param z              <p>The z-coordinate of the launchpad</p>
+     * @param launchpadBlock <p>The registered launchpad, or null if the launchpad is not registered</p>
+     * @param material       <p>The material of the launchpad</p>
+     */
+    private static void launch(@NotNull Player player, @NotNull World world, int x, int y, int z,
+                               @Nullable LaunchpadBlock launchpadBlock, @NotNull Material material) {
+        // Only launch the player once per launchpad contact
+        UUID playerId = player.getUniqueId();
+        UUID worldId = world.getUID();
+        if (!LaunchStateHandler.canLaunch(playerId, worldId, x, y, z)) {
+            return;
+        }
+
+        // Events are only created if any plugin listens for them
+        if (LaunchpadPreLaunchEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            LaunchpadPreLaunchEvent preLaunchEvent = new LaunchpadPreLaunchEvent(player, world.getBlockAt(x, y, z),
+                    launchpadBlock);
+            Bukkit.getPluginManager().callEvent(preLaunchEvent);
+            if (preLaunchEvent.isCancelled()) {
+                return;
+            }
+        }
+
+        // Ignore the material's velocities if the block is a registered launchpad, and use its fixed direction if set
+        Vector velocity;
+        int flightTicks;
+        if (launchpadBlock != null) {
+            velocity = launchpadBlock.getFixedLaunchVelocity();
+            if (velocity == null) {
+                velocity = getLaunchVelocity(player, launchpadBlock.getHorizontalVelocity(),
+                        launchpadBlock.getVerticalVelocity());
+            }
+            flightTicks = launchpadBlock.getTrajectory().flightTicks();
+        } else {
+            LaunchProfile profile = Launchpad.getInstance().getConfiguration().getLaunchProfile(material);
+            velocity = getLaunchVelocity(player, profile.horizontalVelocity(), profile.verticalVelocity());
+            flightTicks = profile.trajectory().flightTicks();
+        }
+
+        if (LaunchpadLaunchEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            LaunchpadLaunchEvent launchEvent = new LaunchpadLaunchEvent(player, world.getBlockAt(x, y, z),
+                    launchpadBlock, velocity);
+            Bukkit.getPluginManager().callEvent(launchEvent);
+            if (launchEvent.isCancelled()) {
+                return;
+            }
+            // The velocity may have been changed, so the flight time has to be predicted again
+            velocity = launchEvent.getVelocity();
+            flightTicks = LaunchTrajectory.predict(Math.hypot(velocity.getX(), velocity.getZ()),
+                    velocity.getY()).flightTicks();
+        }
+
+        // The launch state is updated immediately, so the player isn't launched twice before the launch is applied
+        LaunchStateHandler.setLaunched(playerId, worldId, x, y, z, flightTicks);
+        LaunchQueue.queue(player, velocity);
+    }
+
+    /**
+     * Gets the velocity to launch a player in the direction the player is facing
+     *
+     * @param player             <p>The player to launch</p>
+     * @param horizontalVelocity <p>The horizontal velocity to apply to the player</p>
+     * @param verticalVelocity   <p>The vertical velocity to apply to the player</p>
+     * @return <p>The launch velocity</p>
+     */
+    private static @NotNull Vector getLaunchVelocity(@NotNull Player player, double horizontalVelocity,
+                                                     double verticalVelocity) {
+        // Only the player's yaw matters, as the player is launched horizontally
+        double yaw = Math.toRadians(player.getLocation(location).getYaw());
+        return new Vector(-Math.sin(yaw) * horizontalVelocity, verticalVelocity, Math.cos(yaw) * horizontalVelocity);
+    }
+
+}
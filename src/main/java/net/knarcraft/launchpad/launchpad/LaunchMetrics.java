@@ -0,0 +1,29 @@
+package net.knarcraft.launchpad.launchpad;
+
+/**
+ * A receiver of statistics about detected and applied launches
+ */
+@FunctionalInterface
+public interface LaunchMetrics {
+
+    /**
+     * Records a single application of the launch queue
+     *
+     * @param queuedLaunches  <p>The number of launches queued since the last application</p>
+     * @param appliedLaunches <p>The number of launches applied, after removing duplicates and offline players</p>
+     * @param elapsedNanos    <p>The time spent applying the launches, in nanoseconds</p>
+     */
+    void recordLaunches(int queuedLaunches, int appliedLaunches, long elapsedNanos);
+
+    /**
+     * Records a single tick of tick-based launch detection
+     *
+     * @param candidatePlayers <p>The number of players in chunks which may contain launchpads</p>
+     * @param checkedPlayers   <p>The number of players checked during the tick</p>
+     * @param elapsedNanos     <p>The time spent detecting launches, in nanoseconds</p>
+     */
+    default void recordDetection(int candidatePlayers, int checkedPlayers, long elapsedNanos) {
+        // Detection statistics are optional
+    }
+
+}
@@ -0,0 +1,101 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.Launchpad;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A queue of launches waiting to be applied
+ *
+ * <p>Launches are collected while a tick is processed, and applied together by a task in the next scheduler pass.
+ * If a player is launched several times before the queue is applied, only the last launch is applied, so each player
+ * receives at most one velocity change per tick.</p>
+ */
+public final class LaunchQueue {
+
+    private static final Map<UUID, QueuedLaunch> queuedLaunches = new LinkedHashMap<>();
+    private static int queuedCount;
+    private static int applyTaskId = -1;
+    private static @Nullable LaunchMetrics metrics;
+
+    private LaunchQueue() {
+
+    }
+
+    /**
+     * Sets the metrics receiving statistics each time the queue is applied
+     *
+     * @param metrics <p>The metrics to use, or null to stop recording metrics</p>
+     */
+    public static void setMetrics(@Nullable LaunchMetrics metrics) {
+        LaunchQueue.metrics = metrics;
+    }
+
+    /**
+     * Queues a launch of the given player
+     *
+     * @param player   <p>The player to launch</p>
+     * @param velocity <p>The velocity to launch the player with</p>
+     */
+    public static void queue(@NotNull Player player, @NotNull Vector velocity) {
+        queuedLaunches.put(player.getUniqueId(), new QueuedLaunch(player, velocity));
+        queuedCount++;
+        if (applyTaskId == -1) {
+            applyTaskId = Bukkit.getScheduler().scheduleSyncDelayedTask(Launchpad.getInstance(),
+                    LaunchQueue::apply);
+        }
+    }
+
+    /**
+     * Removes any queued launch of the given player
+     *
+     * @param playerId <p>The id of the player to remove</p>
+     */
+    public static void removePlayer(@NotNull UUID playerId) {
+        if (queuedLaunches.remove(playerId) != null) {
+            queuedCount--;
+        }
+    }
+
+    /**
+     * Applies all queued launches
+     */
+    private static void apply() {
+        long startTime = System.nanoTime();
+        int appliedCount = 0;
+        for (QueuedLaunch launch : queuedLaunches.values()) {
+            Player player = launch.player();
+            if (!player.isOnline()) {
+                continue;
+            }
+            player.setVelocity(launch.velocity());
+            Launchpad.getInstance().getConfiguration().addTrail(player.getUniqueId());
+            appliedCount++;
+        }
+        queuedLaunches.clear();
+        applyTaskId = -1;
+
+        LaunchMetrics metrics = LaunchQueue.metrics;
+        if (metrics != null) {
+            metrics.recordLaunches(queuedCount, appliedCount, System.nanoTime() - startTime);
+        }
+        queuedCount = 0;
+    }
+
+    /**
+     * A launch waiting to be applied
+     *
+     * @param player   <p>The player to launch</p>
+     * @param velocity <p>The velocity to launch the player with</p>
+     */
+    private record QueuedLaunch(@NotNull Player player, @NotNull Vector velocity) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package net.knarcraft.launchpad.launchpad;
+
+/**
+ * The states a player goes through when launched by a launchpad
+ */
+public enum LaunchState {
+
+    /**
+     * The player has not been launched
+     */
+    IDLE,
+
+    /**
+     * The player has been launched, but is still touching the launchpad
+     */
+    LAUNCHED,
+
+    /**
+     * The player has left the launchpad, and is flying through the air
+     */
+    AIRBORNE,
+
+    /**
+     * The player has landed after being launched
+     */
+    LANDED,
+    ;
+
+}
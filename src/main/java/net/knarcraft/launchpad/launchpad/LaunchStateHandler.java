@@ -0,0 +1,286 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.util.LongObjectHashMap;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A handler keeping track of the launch state of each launched player
+ *
+ * <p>A player is only launched once per launchpad contact. Until the player has left the launchpad that launched them,
+ * that launchpad cannot launch them again, and no launchpad can launch them again until the launch cooldown has
+ * passed. Players who have never been launched are not tracked.</p>
+ *
+ * <p>When a player is launched, the tick they land at is predicted from the launch's trajectory. Launched players are
+ * checked each tick only until they take off. Once airborne, their landing is scheduled in a wheel of tick buckets
+ * at the predicted tick, and airborne players are not checked at all until then. At the predicted tick, the landing is
+ * confirmed, and the player's trail is removed. Only if the player is still in the air, for example after being
+ * knocked back or landing lower than they were launched from, are they checked again each tick until they land.
+ * Teleporting ends the flight immediately.</p>
+ */
+public final class LaunchStateHandler {
+
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int TAKE_OFF_TICKS = 20;
+    private static final Location location = new Location(null, 0, 0, 0);
+    private static final Map<UUID, PlayerLaunch> launches = new HashMap<>();
+    private static final Map<UUID, PlayerLaunch> activeLaunches = new HashMap<>();
+    private static final Map<UUID, PlayerLaunch> takingOff = new HashMap<>();
+    private static final LongObjectHashMap<List<UUID>> scheduledLandings = new LongObjectHashMap<>();
+    private static long cooldownNanos;
+    private static int landingTaskId = -1;
+    private static long currentTick;
+
+    private LaunchStateHandler() {
+
+    }
+
+    /**
+     * Sets the minimum time between two launches of the same player
+     *
+     * @param cooldownTicks <p>The launch cooldown, in ticks</p>
+     */
+    public static void setCooldown(int cooldownTicks) {
+        cooldownNanos = Math.max(cooldownTicks, 0) * NANOS_PER_TICK;
+    }
+
+    /**
+     * Gets the launch state of the given player
+     *
+     * @param playerId <p>The id of the player to check</p>
+     * @return <p>The player's launch state</p>
+     */
+    public static @NotNull LaunchState getState(@NotNull UUID playerId) {
+        PlayerLaunch launch = launches.get(playerId);
+        return launch != null ? launch.state : LaunchState.IDLE;
+    }
+
+    /**
+     * Checks whether the given player can be launched by the launchpad at the given position
+     *
+     * @param playerId <p>The id of the player to check</p>
+     * @param worldId  <p>The id of the world containing the launchpad</p>
+     * @param x        <p>The x-coordinate of the launchpad</p>
+     * @param y        <p>The y-coordinate of the launchpad</p>
+     * @param z        <p>The z-coordinate of the launchpad</p>
+     * @return <p>True if the player can be launched</p>
+     */
+    public static boolean canLaunch(@NotNull UUID playerId, @NotNull UUID worldId, int x, int y, int z) {
+        PlayerLaunch launch = launches.get(playerId);
+        if (launch == null || launch.state == LaunchState.IDLE) {
+            return true;
+        }
+        // Don't launch the player again until they have left the launchpad, and the cooldown has passed
+        boolean isSameLaunchpad = launch.worldId.equals(worldId) &&
+                launch.launchpadKey == PositionHelper.getBlockKey(x, y, z);
+        return (launch.state != LaunchState.LAUNCHED || !isSameLaunchpad) &&
+                System.nanoTime() - launch.launchTime >= cooldownNanos;
+    }
+
+    /**
+     * Marks the given player as launched by the launchpad at the given position
+     *
+     * @param playerId    <p>The id of the launched player</p>
+     * @param worldId     <p>The id of the world containing the launchpad</p>
+     * @param x           <p>The x-coordinate of the launchpad</p>
+     * @param y           <p>The y-coordinate of the launchpad</p>
+     * @param z           <p>The z-coordinate of the launchpad</p>
+     * @param flightTicks <p>The predicted number of ticks until the player lands</p>
+     */
+    public static void setLaunched(@NotNull UUID playerId, @NotNull UUID worldId, int x, int y, int z,
+                                   int flightTicks) {
+        PlayerLaunch launch = launches.computeIfAbsent(playerId, (key) -> new PlayerLaunch());
+        launch.state = LaunchState.LAUNCHED;
+        launch.worldId = worldId;
+        launch.launchpadKey = PositionHelper.getBlockKey(x, y, z);
+        launch.launchTime = System.nanoTime();
+        launch.launchTick = currentTick;
+        launch.flightTicks = flightTicks;
+        launch.landingTick = -1;
+        activeLaunches.put(playerId, launch);
+        takingOff.put(playerId, launch);
+        if (landingTaskId == -1) {
+            landingTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(),
+                    LaunchStateHandler::detectLandings, 1, 1);
+        }
+    }
+
+    /**
+     * Stops tracking the launch state of the given player
+     *
+     * @param playerId <p>The id of the player to stop tracking</p>
+     */
+    public static void removePlayer(@NotNull UUID playerId) {
+        launches.remove(playerId);
+        activeLaunches.remove(playerId);
+        takingOff.remove(playerId);
+    }
+
+    /**
+     * Ends the flight of the given player, if they are currently launched
+     *
+     * <p>This is used when the player is moved in a way the trajectory can't predict, such as by teleporting.</p>
+     *
+     * @param playerId <p>The id of the player whose flight to end</p>
+     */
+    public static void endFlight(@NotNull UUID playerId) {
+        PlayerLaunch launch = activeLaunches.get(playerId);
+        if (launch != null) {
+            land(playerId, launch);
+        }
+    }
+
+    /**
+     * Updates the launch state of all launched players which have not yet landed
+     *
+     * <p>A launched player becomes airborne once they leave the ground or their launchpad, and their landing is then
+     * scheduled at the predicted tick. A player who is still on their launchpad long after being launched is
+     * considered landed, as the launchpad did not lift them. Airborne players are only checked once their scheduled
+     * tick is reached.</p>
+     */
+    private static void detectLandings() {
+        currentTick++;
+        Iterator<Map.Entry<UUID, PlayerLaunch>> iterator = takingOff.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PlayerLaunch> entry = iterator.next();
+            PlayerLaunch launch = entry.getValue();
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) {
+                iterator.remove();
+                activeLaunches.remove(entry.getKey());
+            } else if (!player.isOnGround() || !isOnLaunchpad(player, launch)) {
+                iterator.remove();
+                launch.state = LaunchState.AIRBORNE;
+                scheduleLanding(entry.getKey(), launch, Math.max(launch.launchTick + launch.flightTicks,
+                        currentTick + 1));
+            } else if (currentTick - launch.launchTick >= TAKE_OFF_TICKS) {
+                iterator.remove();
+                land(entry.getKey(), launch);
+            }
+        }
+
+        List<UUID> landings = scheduledLandings.remove(currentTick);
+        if (landings != null) {
+            for (UUID playerId : landings) {
+                confirmLanding(playerId);
+            }
+        }
+
+        if (activeLaunches.isEmpty()) {
+            Bukkit.getScheduler().cancelTask(landingTaskId);
+            landingTaskId = -1;
+            scheduledLandings.clear();
+        }
+    }
+
+    /**
+     * Confirms that a player has landed at their scheduled landing tick
+     *
+     * <p>If the player is still in the air, their landing is checked again on the next tick.</p>
+     *
+     * @param playerId <p>The id of the player to check</p>
+     */
+    private static void confirmLanding(@NotNull UUID playerId) {
+        PlayerLaunch launch = activeLaunches.get(playerId);
+        // The player may have been launched again, or have landed in another way, since the landing was scheduled
+        if (launch == null || launch.state != LaunchState.AIRBORNE || launch.landingTick != currentTick) {
+            return;
+        }
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) {
+            activeLaunches.remove(playerId);
+        } else if (hasLanded(player)) {
+            land(playerId, launch);
+        } else {
+            scheduleLanding(playerId, launch, currentTick + 1);
+        }
+    }
+
+    /**
+     * Schedules the landing of the given player to be confirmed at the given tick
+     *
+     * @param playerId    <p>The id of the airborne player</p>
+     * @param launch      <p>The player's launch</p>
+     * @param landingTick <p>The tick to confirm the landing at</p>
+     */
+    private static void scheduleLanding(@NotNull UUID playerId, @NotNull PlayerLaunch launch, long landingTick) {
+        launch.landingTick = landingTick;
+        List<UUID> landings = scheduledLandings.get(landingTick);
+        if (landings == null) {
+            landings = new ArrayList<>();
+            scheduledLandings.put(landingTick, landings);
+        }
+        landings.add(playerId);
+    }
+
+    /**
+     * Marks the given player as landed, and removes their trail
+     *
+     * @param playerId <p>The id of the player that landed</p>
+     * @param launch   <p>The player's launch</p>
+     */
+    private static void land(@NotNull UUID playerId, @NotNull PlayerLaunch launch) {
+        launch.state = LaunchState.LANDED;
+        launch.landingTick = -1;
+        activeLaunches.remove(playerId);
+        takingOff.remove(playerId);
+        Launchpad.getInstance().getConfiguration().removeTrail(playerId);
+    }
+
+    /**
+     * Checks whether an airborne player has landed
+     *
+     * @param player <p>The player to check</p>
+     * @return <p>True if the player has landed</p>
+     */
+    private static boolean hasLanded(@NotNull Player player) {
+        return (player.isOnGround() && player.getVelocity().getY() <= 0) || player.isFlying() ||
+                player.isInsideVehicle();
+    }
+
+    /**
+     * Checks whether the given player is standing on the launchpad that launched them
+     *
+     * @param player <p>The player to check</p>
+     * @param launch <p>The player's launch</p>
+     * @return <p>True if the player is on their launchpad</p>
+     */
+    private static boolean isOnLaunchpad(@NotNull Player player, @NotNull PlayerLaunch launch) {
+        player.getLocation(location);
+        if (location.getWorld() == null || !location.getWorld().getUID().equals(launch.worldId)) {
+            return false;
+        }
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
+        return launch.launchpadKey == PositionHelper.getBlockKey(x, location.getBlockY(), z) ||
+                launch.launchpadKey == PositionHelper.getBlockKey(x, Location.locToBlock(location.getY() - 0.2), z);
+    }
+
+    /**
+     * The launch state of a single player
+     */
+    private static final class PlayerLaunch {
+
+        private @NotNull LaunchState state = LaunchState.IDLE;
+        private @NotNull UUID worldId = new UUID(0, 0);
+        private long launchpadKey;
+        private long launchTime;
+        private long launchTick;
+        private long landingTick;
+        private int flightTicks;
+
+    }
+
+}
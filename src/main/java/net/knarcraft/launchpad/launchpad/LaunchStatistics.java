@@ -0,0 +1,78 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.Launchpad;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Launch metrics which are summed up and logged at a fixed interval
+ *
+ * <p>Each time this is run, a summary of the statistics recorded since the last run is logged, and the statistics are
+ * reset. Nothing is logged if nothing was recorded.</p>
+ */
+public final class LaunchStatistics implements LaunchMetrics, Runnable {
+
+    private static final double NANOS_PER_MICROSECOND = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final int logInterval;
+    private int queueApplications;
+    private long queuedLaunches;
+    private long appliedLaunches;
+    private long applyNanos;
+    private int detectionTicks;
+    private long candidatePlayers;
+    private long checkedPlayers;
+    private long detectionNanos;
+
+    /**
+     * Instantiates new launch statistics
+     *
+     * @param logInterval <p>The number of ticks between each time the statistics are logged</p>
+     */
+    public LaunchStatistics(int logInterval) {
+        this.logInterval = logInterval;
+    }
+
+    @Override
+    public void recordLaunches(int queuedLaunches, int appliedLaunches, long elapsedNanos) {
+        this.queueApplications++;
+        this.queuedLaunches += queuedLaunches;
+        this.appliedLaunches += appliedLaunches;
+        this.applyNanos += elapsedNanos;
+    }
+
+    @Override
+    public void recordDetection(int candidatePlayers, int checkedPlayers, long elapsedNanos) {
+        this.detectionTicks++;
+        this.candidatePlayers += candidatePlayers;
+        this.checkedPlayers += checkedPlayers;
+        this.detectionNanos += elapsedNanos;
+    }
+
+    @Override
+    public void run() {
+        if (this.queueApplications > 0) {
+            Launchpad.log(Level.INFO, String.format("Launch statistics for the last %d ticks: %d launches queued, " +
+                            "%d applied, %.1f microseconds spent applying launches per tick", this.logInterval,
+                    this.queuedLaunches, this.appliedLaunches,
+                    this.applyNanos / NANOS_PER_MICROSECOND / this.queueApplications));
+        }
+        if (this.detectionTicks > 0) {
+            Launchpad.log(Level.INFO, String.format("Detection statistics for the last %d ticks: %.1f candidate " +
+                            "players and %.1f checked players per tick, %.1f microseconds spent detecting launches " +
+                            "per tick", this.logInterval, (double) this.candidatePlayers / this.detectionTicks,
+                    (double) this.checkedPlayers / this.detectionTicks,
+                    this.detectionNanos / NANOS_PER_MICROSECOND / this.detectionTicks));
+        }
+        this.queueApplications = 0;
+        this.queuedLaunches = 0;
+        this.appliedLaunches = 0;
+        this.applyNanos = 0;
+        this.detectionTicks = 0;
+        this.candidatePlayers = 0;
+        this.checkedPlayers = 0;
+        this.detectionNanos = 0;
+    }
+
+}
@@ -0,0 +1,68 @@
+package net.knarcraft.launchpad.launchpad;
+
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The predicted flight of a player launched with a given velocity
+ *
+ * <p>The flight is simulated using Minecraft's movement physics for players in the air, assuming the player lands at
+ * the same height they were launched from.</p>
+ *
+ * @param horizontalVelocity <p>The horizontal velocity of the launch</p>
+ * @param verticalVelocity   <p>The vertical velocity of the launch</p>
+ * @param flightTicks        <p>The number of ticks until the player lands</p>
+ * @param distance           <p>The horizontal distance between the launch point and the landing point</p>
+ * @param apexHeight         <p>The highest point reached, relative to the launch point</p>
+ */
+public record LaunchTrajectory(double horizontalVelocity, double verticalVelocity, int flightTicks, double distance,
+                               double apexHeight) {
+
+    private static final double GRAVITY = 0.08;
+    private static final double VERTICAL_DRAG = 0.98;
+    private static final double HORIZONTAL_DRAG = 0.91;
+    private static final int MAX_FLIGHT_TICKS = 1200;
+
+    /**
+     * Predicts the flight of a player launched with the given velocity
+     *
+     * @param horizontalVelocity <p>The horizontal velocity of the launch</p>
+     * @param verticalVelocity   <p>The vertical velocity of the launch</p>
+     * @return <p>The predicted trajectory</p>
+     */
+    public static @NotNull LaunchTrajectory predict(double horizontalVelocity, double verticalVelocity) {
+        double horizontalSpeed = horizontalVelocity;
+        double verticalSpeed = verticalVelocity;
+        double distance = 0;
+        double height = 0;
+        double apexHeight = 0;
+        int ticks = 0;
+        // Each tick, the player is moved, before gravity and drag are applied to their velocity
+        do {
+            distance += horizontalSpeed;
+            height += verticalSpeed;
+            apexHeight = Math.max(apexHeight, height);
+            verticalSpeed = (verticalSpeed - GRAVITY) * VERTICAL_DRAG;
+            horizontalSpeed *= HORIZONTAL_DRAG;
+            ticks++;
+        } while (height > 0 && ticks < MAX_FLIGHT_TICKS);
+        return new LaunchTrajectory(horizontalVelocity, verticalVelocity, ticks, distance, apexHeight);
+    }
+
+    /**
+     * Gets the point where a player launched from the given point in the given direction lands
+     *
+     * @param origin    <p>The point the player is launched from</p>
+     * @param direction <p>The horizontal direction the player is launched in</p>
+     * @return <p>The predicted landing point</p>
+     */
+    public @NotNull Location getLandingPoint(@NotNull Location origin, @NotNull Vector direction) {
+        Vector horizontalDirection = new Vector(direction.getX(), 0, direction.getZ());
+        if (horizontalDirection.lengthSquared() == 0) {
+            return origin.clone();
+        }
+        return origin.clone().add(horizontalDirection.normalize().multiply(this.distance));
+    }
+
+}
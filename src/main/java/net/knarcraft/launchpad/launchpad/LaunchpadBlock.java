@@ -1,20 +1,37 @@
 package net.knarcraft.launchpad.launchpad;
 
 import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.config.LaunchProfile;
+import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 /**
  * A block registered as a launchpad
+ *
+ * <p>The launchpad's effective velocities, its launch vector and its trajectory are resolved once, and kept until
+ * the launchpad is changed, its block's material changes, or the configured default velocities change.</p>
  */
 public class LaunchpadBlock {
 
+    private static int defaultsVersion;
+
     private final @NotNull Block block;
     private double horizontalVelocity;
     private double verticalVelocity;
     private @Nullable BlockFace fixedDirection;
+    private int resolvedVersion = -1;
+    private @Nullable Material resolvedMaterial;
+    private double resolvedHorizontalVelocity;
+    private double resolvedVerticalVelocity;
+    private @Nullable Vector fixedLaunchVelocity;
+    private @Nullable LaunchTrajectory trajectory;
 
     /**
      * Instantiates a new launchpad block
@@ -59,11 +76,8 @@ public class LaunchpadBlock {
      * @return <p>The horizontal velocity of this launchpad</p>
      */
     public double getHorizontalVelocity() {
-        if (this.horizontalVelocity >= 0) {
-            return this.horizontalVelocity;
-        } else {
-            return Launchpad.getInstance().getConfiguration().getHorizontalVelocity(this.block.getType());
-        }
+        resolve();
+        return this.resolvedHorizontalVelocity;
     }
 
     /**
@@ -72,11 +86,8 @@ public class LaunchpadBlock {
      * @return <p>The vertical velocity of this launchpad</p>
      */
     public double getVerticalVelocity() {
-        if (this.verticalVelocity >= 0) {
-            return this.verticalVelocity;
-        } else {
-            return Launchpad.getInstance().getConfiguration().getVerticalVelocity(this.block.getType());
-        }
+        resolve();
+        return this.resolvedVerticalVelocity;
     }
 
     /**
@@ -88,6 +99,42 @@ public class LaunchpadBlock {
         return this.fixedDirection;
     }
 
+    /**
+     * Gets the velocity to launch players with, if this launchpad has a fixed direction
+     *
+     * @return <p>A copy of the launch velocity, or null if this launchpad has no fixed direction</p>
+     */
+    public @Nullable Vector getFixedLaunchVelocity() {
+        resolve();
+        return this.fixedLaunchVelocity != null ? this.fixedLaunchVelocity.clone() : null;
+    }
+
+    /**
+     * Gets the predicted trajectory of players launched by this launchpad
+     *
+     * @return <p>The predicted trajectory</p>
+     */
+    public @NotNull LaunchTrajectory getTrajectory() {
+        resolve();
+        return Objects.requireNonNull(this.trajectory);
+    }
+
+    /**
+     * Gets the point where players launched by this launchpad are predicted to land
+     *
+     * @param direction <p>The direction the player is facing, which is used unless this launchpad has a fixed
+     *                  direction</p>
+     * @return <p>The predicted landing point</p>
+     */
+    public @NotNull Location getLandingPoint(@NotNull Vector direction) {
+        if (this.fixedDirection != null) {
+            direction = this.fixedDirection.getDirection();
+        }
+        // Players stand inside passable launchpads, such as pressure plates, and on top of any other launchpads
+        Location origin = this.block.getLocation().add(0.5, this.block.isPassable() ? 0 : 1, 0.5);
+        return getTrajectory().getLandingPoint(origin, direction);
+    }
+
     /**
      * Sets the horizontal velocity of this launchpad
      *
@@ -95,6 +142,7 @@ public class LaunchpadBlock {
      */
     public void setHorizontalVelocity(double horizontalVelocity) {
         this.horizontalVelocity = horizontalVelocity;
+        this.resolvedVersion = -1;
     }
 
     /**
@@ -104,6 +152,7 @@ public class LaunchpadBlock {
      */
     public void setVerticalVelocity(double verticalVelocity) {
         this.verticalVelocity = verticalVelocity;
+        this.resolvedVersion = -1;
     }
 
     /**
@@ -119,6 +168,7 @@ public class LaunchpadBlock {
             return;
         }
         this.fixedDirection = fixedDirection;
+        this.resolvedVersion = -1;
     }
 
     /**
@@ -139,4 +189,45 @@ public class LaunchpadBlock {
         return this.verticalVelocity;
     }
 
+    /**
+     * Marks the resolved velocities of all launchpads as outdated
+     *
+     * <p>This must be called whenever the configured default velocities change.</p>
+     */
+    public static void invalidateDefaults() {
+        defaultsVersion++;
+    }
+
+    /**
+     * Resolves this launchpad's effective velocities, launch vector and trajectory, unless already up-to-date
+     */
+    private void resolve() {
+        Material material = this.block.getType();
+        if (this.resolvedVersion == defaultsVersion && this.resolvedMaterial == material) {
+            return;
+        }
+        double horizontalVelocity = this.horizontalVelocity;
+        double verticalVelocity = this.verticalVelocity;
+        if (horizontalVelocity < 0 || verticalVelocity < 0) {
+            LaunchProfile profile = Launchpad.getInstance().getConfiguration().getLaunchProfile(material);
+            if (horizontalVelocity < 0) {
+                horizontalVelocity = profile.horizontalVelocity();
+            }
+            if (verticalVelocity < 0) {
+                verticalVelocity = profile.verticalVelocity();
+            }
+        }
+        this.resolvedHorizontalVelocity = horizontalVelocity;
+        this.resolvedVerticalVelocity = verticalVelocity;
+        if (this.fixedDirection != null) {
+            this.fixedLaunchVelocity = this.fixedDirection.getDirection().normalize().multiply(horizontalVelocity)
+                    .setY(verticalVelocity);
+        } else {
+            this.fixedLaunchVelocity = null;
+        }
+        this.trajectory = LaunchTrajectory.predict(horizontalVelocity, verticalVelocity);
+        this.resolvedVersion = defaultsVersion;
+        this.resolvedMaterial = material;
+    }
+
 }
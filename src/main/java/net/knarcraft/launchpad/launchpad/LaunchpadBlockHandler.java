@@ -1,33 +1,49 @@
 package net.knarcraft.launchpad.launchpad;
 
 import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.storage.JournalAction;
+import net.knarcraft.launchpad.storage.JournalEntry;
+import net.knarcraft.launchpad.storage.LaunchpadPersistence;
+import net.knarcraft.launchpad.storage.LaunchpadRecord;
+import net.knarcraft.launchpad.storage.StorageType;
+import net.knarcraft.launchpad.util.PositionHelper;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.InvalidConfigurationException;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.block.PistonMoveReaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.logging.Level;
+import java.util.function.Consumer;
 
 /**
  * A handler class to keep track of launchpad blocks
+ *
+ * <p>Launchpads are only attached to their blocks while their chunk is loaded. Launchpads in unloaded chunks are only
+ * kept in the launchpad storage, which is queried in the background as chunks are loaded.</p>
  */
 public final class LaunchpadBlockHandler {
 
-    private static final File launchpadsFile = new File(Launchpad.getInstance().getDataFolder(), "data.yml");
-    private static @NotNull Map<Block, LaunchpadBlock> launchpadBlocks = new HashMap<>();
+    private static final LaunchpadPersistence persistence = new LaunchpadPersistence(
+            Launchpad.getInstance().getDataFolder());
+    private static @NotNull Map<UUID, WorldLaunchpadIndex> launchpadIndices = new HashMap<>();
+    private static @Nullable UUID cachedWorldId;
+    private static @Nullable WorldLaunchpadIndex cachedWorldIndex;
+    private static int loadGeneration;
+    private static long registryVersion;
+    private static @NotNull LaunchpadSnapshot snapshot = new LaunchpadSnapshot(0, List.of());
 
     private LaunchpadBlockHandler() {
 
@@ -35,23 +51,104 @@ public final class LaunchpadBlockHandler {
 
     /**
      * Loads all current launchpad blocks from disk
+     *
+     * <p>Launchpads in loaded chunks are attached to their blocks once they have been read from storage. The rest are
+     * attached as their chunks are loaded.</p>
      */
     public static void loadAll() {
-        YamlConfiguration yamlConfiguration = YamlConfiguration.loadConfiguration(launchpadsFile);
-        ConfigurationSection launchpadsSection = yamlConfiguration.getConfigurationSection("launchpads");
-        launchpadBlocks = new HashMap<>();
-        if (launchpadsSection == null) {
-            Launchpad.log(Level.WARNING, "Launchpads section not found in data.yml. Ignore this warning if" +
-                    " you have no saved launchpads.");
+        persistence.load();
+        launchpadIndices = new HashMap<>();
+        cachedWorldId = null;
+        cachedWorldIndex = null;
+        registryVersion++;
+        // Ignore any chunk queries still running for the previous registry
+        loadGeneration++;
+        for (World world : Bukkit.getWorlds()) {
+            loadWorld(world);
+        }
+    }
+
+    /**
+     * Loads all launchpad blocks from disk, unless the loaded launchpads are already up-to-date
+     *
+     * <p>The stored launchpads are only loaded again if they were never loaded, if the storage type was changed, or
+     * if the stored data has been changed by something other than this plugin.</p>
+     */
+    public static void loadIfChanged() {
+        if (persistence.hasExternalChanges()) {
+            loadAll();
+        }
+    }
+
+    /**
+     * Sets the type of storage used for launchpads
+     *
+     * <p>The new storage is used the next time launchpads are loaded.</p>
+     *
+     * @param storageType <p>The type of storage to use</p>
+     */
+    public static void setStorageType(@NotNull StorageType storageType) {
+        persistence.setStorageType(storageType);
+    }
+
+    /**
+     * Sets the interval used for saving changed launchpads to disk
+     *
+     * @param saveInterval <p>The number of ticks between each save of changed launchpads</p>
+     */
+    public static void setSaveInterval(int saveInterval) {
+        persistence.setSaveInterval(saveInterval);
+    }
+
+    /**
+     * Attaches the launchpads in all loaded chunks of the given world
+     *
+     * @param world <p>The world to load launchpads for</p>
+     */
+    public static void loadWorld(@NotNull World world) {
+        Chunk[] chunks = world.getLoadedChunks();
+        long[] chunkKeys = new long[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            chunkKeys[i] = PositionHelper.getChunkKey(chunks[i].getX(), chunks[i].getZ());
+        }
+        loadChunks(world.getUID(), chunkKeys);
+    }
+
+    /**
+     * Detaches all launchpads in the given world from their blocks
+     *
+     * @param world <p>The world to unload launchpads for</p>
+     */
+    public static void unloadWorld(@NotNull World world) {
+        WorldLaunchpadIndex worldIndex = launchpadIndices.get(world.getUID());
+        if (worldIndex == null) {
             return;
         }
+        for (long chunkKey : worldIndex.getChunkKeys()) {
+            worldIndex.removeChunk(PositionHelper.getChunkX(chunkKey), PositionHelper.getChunkZ(chunkKey));
+            registryVersion++;
+        }
+    }
 
-        for (String key : launchpadsSection.getKeys(false)) {
-            try {
-                loadLaunchpad(launchpadsSection, key);
-            } catch (InvalidConfigurationException exception) {
-                Launchpad.log(Level.SEVERE, "Unable to load launchpad " + key + ": " + exception.getMessage());
-            }
+    /**
+     * Attaches any launchpads stored for the given chunk to their blocks
+     *
+     * @param chunk <p>The chunk that was loaded</p>
+     */
+    public static void loadChunk(@NotNull Chunk chunk) {
+        loadChunks(chunk.getWorld().getUID(), new long[]{PositionHelper.getChunkKey(chunk.getX(), chunk.getZ())});
+    }
+
+    /**
+     * Detaches all launchpads in the given chunk from their blocks
+     *
+     * @param chunk <p>The chunk that is being unloaded</p>
+     */
+    public static void unloadChunk(@NotNull Chunk chunk) {
+        // Every change has already been passed to the storage, so the launchpads can simply be dropped
+        WorldLaunchpadIndex worldIndex = getWorldIndex(chunk.getWorld().getUID());
+        if (worldIndex != null && worldIndex.removeChunk(chunk.getX(), chunk.getZ()) != null) {
+            registryVersion++;
         }
     }
 
@@ -61,8 +158,17 @@ public final class LaunchpadBlockHandler {
      * @param launchpadBlock <p>The launchpad block to register</p>
      */
     public static void registerLaunchpadBlock(@NotNull LaunchpadBlock launchpadBlock) {
-        launchpadBlocks.put(launchpadBlock.getBlock(), launchpadBlock);
-        saveAll();
+        addLaunchpadBlock(launchpadBlock);
+        persistence.recordChange(JournalAction.ADD, LaunchpadRecord.fromLaunchpadBlock(launchpadBlock));
+    }
+
+    /**
+     * Stores changes made to the properties of a registered launchpad block
+     *
+     * @param launchpadBlock <p>The launchpad block that was modified</p>
+     */
+    public static void updateLaunchpadBlock(@NotNull LaunchpadBlock launchpadBlock) {
+        persistence.recordChange(JournalAction.MODIFY, LaunchpadRecord.fromLaunchpadBlock(launchpadBlock));
     }
 
     /**
@@ -71,10 +177,67 @@ public final class LaunchpadBlockHandler {
      * @param block <p>The block containing the launchpad block to unregister</p>
      */
     public static void unregisterLaunchpadBlock(@NotNull Block block) {
-        if (launchpadBlocks.containsKey(block)) {
-            launchpadBlocks.remove(block);
-            saveAll();
+        LaunchpadBlock removed = removeLaunchpadBlock(block);
+        if (removed != null) {
+            persistence.recordChange(JournalAction.REMOVE, LaunchpadRecord.fromLaunchpadBlock(removed));
+        }
+    }
+
+    /**
+     * Unregisters any launchpad blocks among the given blocks
+     *
+     * <p>All removals are recorded as a single batch, so that an explosion or other mass block change only costs a
+     * single journal write.</p>
+     *
+     * @param blocks <p>The blocks to unregister</p>
+     */
+    public static void unregisterLaunchpadBlocks(@NotNull Collection<Block> blocks) {
+        List<JournalEntry> changes = new ArrayList<>();
+        for (Block block : blocks) {
+            LaunchpadBlock removed = removeLaunchpadBlock(block);
+            if (removed != null) {
+                changes.add(new JournalEntry(JournalAction.REMOVE, LaunchpadRecord.fromLaunchpadBlock(removed)));
+            }
         }
+        persistence.recordChanges(changes);
+    }
+
+    /**
+     * Moves any launchpad blocks among the given blocks one block in the given direction
+     *
+     * <p>Launchpads which pop off when the block below them is moved away, such as pressure plates, are not moved by
+     * the piston themselves, and are therefore unregistered. All changes are recorded as a single batch.</p>
+     *
+     * @param blocks    <p>The blocks being moved by a piston</p>
+     * @param direction <p>The direction the blocks are moved in</p>
+     */
+    public static void moveLaunchpadBlocks(@NotNull Collection<Block> blocks, @NotNull BlockFace direction) {
+        List<JournalEntry> changes = new ArrayList<>();
+        List<LaunchpadBlock> movedLaunchpads = new ArrayList<>();
+        Set<Block> movedBlocks = new HashSet<>(blocks);
+        // All launchpads are removed before any is re-added, as a launchpad may be moved into the position of another
+        for (Block block : blocks) {
+            Block above = block.getRelative(BlockFace.UP);
+            if (!movedBlocks.contains(above) && above.getPistonMoveReaction() == PistonMoveReaction.BREAK) {
+                LaunchpadBlock popped = removeLaunchpadBlock(above);
+                if (popped != null) {
+                    changes.add(new JournalEntry(JournalAction.REMOVE, LaunchpadRecord.fromLaunchpadBlock(popped)));
+                }
+            }
+
+            LaunchpadBlock removed = removeLaunchpadBlock(block);
+            if (removed == null) {
+                continue;
+            }
+            changes.add(new JournalEntry(JournalAction.REMOVE, LaunchpadRecord.fromLaunchpadBlock(removed)));
+            movedLaunchpads.add(new LaunchpadBlock(block.getRelative(direction), removed.getHorizontalVelocityRaw(),
+                    removed.getVerticalVelocityRaw(), removed.getFixedDirection()));
+        }
+        for (LaunchpadBlock movedLaunchpad : movedLaunchpads) {
+            addLaunchpadBlock(movedLaunchpad);
+            changes.add(new JournalEntry(JournalAction.ADD, LaunchpadRecord.fromLaunchpadBlock(movedLaunchpad)));
+        }
+        persistence.recordChanges(changes);
     }
 
     /**
@@ -84,75 +247,257 @@ public final class LaunchpadBlockHandler {
      * @return <p>The launchpad block, or null if not a launchpad</p>
      */
     public static @Nullable LaunchpadBlock getLaunchpadBlock(@NotNull Block block) {
-        return launchpadBlocks.get(block);
+        return getLaunchpadBlock(Objects.requireNonNull(block.getWorld()).getUID(), block.getX(), block.getY(),
+                block.getZ());
+    }
+
+    /**
+     * Gets the launchpad block at the given coordinates
+     *
+     * <p>This lookup neither allocates nor boxes, and is therefore suitable for frequently fired events.</p>
+     *
+     * @param worldId <p>The id of the world containing the launchpad</p>
+     * @param x       <p>The x-coordinate of the launchpad's block</p>
+     * @param y       <p>The y-coordinate of the launchpad's block</p>
+     * @param z       <p>The z-coordinate of the launchpad's block</p>
+     * @return <p>The launchpad block, or null if not a launchpad</p>
+     */
+    public static @Nullable LaunchpadBlock getLaunchpadBlock(@NotNull UUID worldId, int x, int y, int z) {
+        WorldLaunchpadIndex worldIndex = getWorldIndex(worldId);
+        return worldIndex != null ? worldIndex.get(x, y, z) : null;
+    }
+
+    /**
+     * Checks whether the given chunk contains at least one loaded launchpad
+     *
+     * @param worldId <p>The id of the world containing the chunk</p>
+     * @param chunkX  <p>The x-coordinate of the chunk</p>
+     * @param chunkZ  <p>The z-coordinate of the chunk</p>
+     * @return <p>True if the chunk contains a launchpad</p>
+     */
+    public static boolean hasLaunchpads(@NotNull UUID worldId, int chunkX, int chunkZ) {
+        WorldLaunchpadIndex worldIndex = getWorldIndex(worldId);
+        return worldIndex != null && worldIndex.hasLaunchpads(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets all loaded launchpads in the given chunk
+     *
+     * @param worldId <p>The id of the world containing the chunk</p>
+     * @param chunkX  <p>The x-coordinate of the chunk</p>
+     * @param chunkZ  <p>The z-coordinate of the chunk</p>
+     * @return <p>The launchpads in the chunk</p>
+     */
+    public static @NotNull List<LaunchpadBlock> getLaunchpadsInChunk(@NotNull UUID worldId, int chunkX, int chunkZ) {
+        List<LaunchpadBlock> launchpads = new ArrayList<>();
+        forEachInChunk(worldId, chunkX, chunkZ, launchpads::add);
+        return launchpads;
+    }
+
+    /**
+     * Gets all loaded launchpads within the given radius of a location
+     *
+     * @param center <p>The location to search around</p>
+     * @param radius <p>The radius to search, measured to the center of each launchpad's block</p>
+     * @return <p>The launchpads within the radius</p>
+     */
+    public static @NotNull List<LaunchpadBlock> getLaunchpadsInRadius(@NotNull Location center, double radius) {
+        List<LaunchpadBlock> launchpads = new ArrayList<>();
+        forEachInRadius(Objects.requireNonNull(center.getWorld()).getUID(), center.getX(), center.getY(),
+                center.getZ(), radius, launchpads::add);
+        return launchpads;
+    }
+
+    /**
+     * Gets all loaded launchpads inside the given cuboid
+     *
+     * @param worldId <p>The id of the world to search</p>
+     * @param minX    <p>The smallest x-coordinate of the cuboid, inclusive</p>
+     * @param minY    <p>The smallest y-coordinate of the cuboid, inclusive</p>
+     * @param minZ    <p>The smallest z-coordinate of the cuboid, inclusive</p>
+     * @param maxX    <p>The largest x-coordinate of the cuboid, inclusive</p>
+     * @param maxY    <p>The largest y-coordinate of the cuboid, inclusive</p>
+     * @param maxZ    <p>The largest z-coordinate of the cuboid, inclusive</p>
+     * @return <p>The launchpads inside the cuboid</p>
+     */
+    public static @NotNull List<LaunchpadBlock> getLaunchpadsInCuboid(@NotNull UUID worldId, int minX, int minY,
+                                                                      int minZ, int maxX, int maxY, int maxZ) {
+        List<LaunchpadBlock> launchpads = new ArrayList<>();
+        WorldLaunchpadIndex worldIndex = getWorldIndex(worldId);
+        if (worldIndex != null) {
+            worldIndex.forEachInCuboid(Math.min(minX, maxX), Math.min(minY, maxY), Math.min(minZ, maxZ),
+                    Math.max(minX, maxX), Math.max(minY, maxY), Math.max(minZ, maxZ), launchpads::add);
+        }
+        return launchpads;
+    }
+
+    /**
+     * Performs the given action for each loaded launchpad in the given chunk
+     *
+     * @param worldId <p>The id of the world containing the chunk</p>
+     * @param chunkX  <p>The x-coordinate of the chunk</p>
+     * @param chunkZ  <p>The z-coordinate of the chunk</p>
+     * @param action  <p>The action to perform</p>
+     */
+    public static void forEachInChunk(@NotNull UUID worldId, int chunkX, int chunkZ,
+                                      @NotNull Consumer<? super LaunchpadBlock> action) {
+        WorldLaunchpadIndex worldIndex = getWorldIndex(worldId);
+        if (worldIndex != null) {
+            worldIndex.forEachInChunk(chunkX, chunkZ, action);
+        }
+    }
+
+    /**
+     * Performs the given action for each loaded launchpad within the given radius of a point
+     *
+     * @param worldId <p>The id of the world to search</p>
+     * @param x       <p>The x-coordinate of the point</p>
+     * @param y       <p>The y-coordinate of the point</p>
+     * @param z       <p>The z-coordinate of the point</p>
+     * @param radius  <p>The radius to search, measured to the center of each launchpad's block</p>
+     * @param action  <p>The action to perform</p>
+     */
+    public static void forEachInRadius(@NotNull UUID worldId, double x, double y, double z, double radius,
+                                       @NotNull Consumer<? super LaunchpadBlock> action) {
+        WorldLaunchpadIndex worldIndex = getWorldIndex(worldId);
+        if (worldIndex != null) {
+            worldIndex.forEachInRadius(x, y, z, radius, action);
+        }
     }
 
     /**
      * Saves all current launchpad blocks to disk
+     *
+     * <p>The launchpad storage is flushed in the background.</p>
      */
     public static void saveAll() {
-        YamlConfiguration yamlConfiguration = YamlConfiguration.loadConfiguration(launchpadsFile);
-        ConfigurationSection launchpadsSection = yamlConfiguration.createSection("launchpads");
-        for (Block block : launchpadBlocks.keySet()) {
-            String locationString = Objects.requireNonNull(block.getWorld()).getUID() + "," +
-                    block.getX() + "," + block.getY() + "," + block.getZ();
-            ConfigurationSection launchpadSection = launchpadsSection.createSection(locationString);
-            LaunchpadBlock launchpadBlock = launchpadBlocks.get(block);
-            launchpadSection.set("verticalVelocity", launchpadBlock.getVerticalVelocityRaw());
-            launchpadSection.set("horizontalVelocity", launchpadBlock.getHorizontalVelocityRaw());
-            launchpadSection.set("fixedDirection", launchpadBlock.getFixedDirection() != null ?
-                    launchpadBlock.getFixedDirection().name() : null);
+        persistence.save();
+    }
+
+    /**
+     * Saves any unsaved launchpad changes, and waits for the save to finish
+     *
+     * <p>This must only be called when the plugin is being disabled.</p>
+     */
+    public static void shutdown() {
+        persistence.shutdown();
+    }
+
+    /**
+     * Gets an immutable snapshot of all launchpads in loaded chunks
+     *
+     * <p>The snapshot is only rebuilt after a launchpad has been added, removed or moved, so repeated calls return the
+     * same snapshot without allocating. Readers can compare snapshot versions to tell whether the registry has
+     * changed.</p>
+     *
+     * @return <p>A snapshot of all launchpads in loaded chunks</p>
+     */
+    public static @NotNull LaunchpadSnapshot getSnapshot() {
+        if (snapshot.version() != registryVersion) {
+            List<LaunchpadBlock> launchpads = new ArrayList<>();
+            for (WorldLaunchpadIndex worldIndex : launchpadIndices.values()) {
+                worldIndex.forEach(launchpads::add);
+            }
+            snapshot = new LaunchpadSnapshot(registryVersion, List.copyOf(launchpads));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the launchpad index for the given world
+     *
+     * @param worldId <p>The id of the world to get the index for</p>
+     * @return <p>The world's index, or null if the world has never contained a loaded launchpad</p>
+     */
+    private static @Nullable WorldLaunchpadIndex getWorldIndex(@NotNull UUID worldId) {
+        // Worlds return the same id instance every time, so most lookups skip the world map entirely
+        if (worldId == cachedWorldId) {
+            return cachedWorldIndex;
         }
-        try {
-            yamlConfiguration.save(launchpadsFile);
-        } catch (IOException e) {
-            Launchpad.log(Level.SEVERE, "Unable to save launchpads. Data loss will occur! Please report " +
-                    "details about this problem to the developer.");
+        WorldLaunchpadIndex worldIndex = launchpadIndices.get(worldId);
+        if (worldIndex != null) {
+            cachedWorldId = worldId;
+            cachedWorldIndex = worldIndex;
         }
+        return worldIndex;
     }
 
     /**
-     * Gets all stored launchpads
+     * Adds an attached launchpad block to the registry
      *
-     * @return <p>All stored launchpads</p>
+     * @param launchpadBlock <p>The launchpad block to add</p>
      */
-    public static Set<LaunchpadBlock> getAll() {
-        return new HashSet<>(launchpadBlocks.values());
+    private static void addLaunchpadBlock(@NotNull LaunchpadBlock launchpadBlock) {
+        // World indices are never removed, which keeps the cached world index valid
+        launchpadIndices.computeIfAbsent(Objects.requireNonNull(launchpadBlock.getBlock().getWorld()).getUID(),
+                (key) -> new WorldLaunchpadIndex()).add(launchpadBlock);
+        registryVersion++;
     }
 
     /**
-     * Loads a single launchpad
+     * Removes the launchpad block attached to the given block from the registry
      *
-     * @param configurationSection <p>The configuration section to read</p>
-     * @param key                  <p>The key containing tha launchpad's info</p>
-     * @throws InvalidConfigurationException <p>If unable to parse the launchpad's location</p>
+     * @param block <p>The block containing the launchpad block to remove</p>
+     * @return <p>The removed launchpad block, or null if the block is not a launchpad</p>
      */
-    private static void loadLaunchpad(@NotNull ConfigurationSection configurationSection,
-                                      @NotNull String key) throws InvalidConfigurationException {
-        String[] locationParts = key.split(",");
-        Block launchpadBlock;
-        try {
-            launchpadBlock = new Location(Bukkit.getWorld(UUID.fromString(locationParts[0])),
-                    Double.parseDouble(locationParts[1]), Double.parseDouble(locationParts[2]),
-                    Double.parseDouble(locationParts[3])).getBlock();
-        } catch (NumberFormatException exception) {
-            throw new InvalidConfigurationException("Invalid launchpad location");
+    private static @Nullable LaunchpadBlock removeLaunchpadBlock(@NotNull Block block) {
+        WorldLaunchpadIndex worldIndex = getWorldIndex(Objects.requireNonNull(block.getWorld()).getUID());
+        if (worldIndex == null) {
+            return null;
         }
+        LaunchpadBlock removed = worldIndex.remove(block.getX(), block.getY(), block.getZ());
+        if (removed != null) {
+            registryVersion++;
+        }
+        return removed;
+    }
 
-        // If the launchpad's block has been removed, ignore it
-        if (launchpadBlock.getType().isAir()) {
+    /**
+     * Loads the stored launchpads of the given chunks in the background, and attaches them once loaded
+     *
+     * @param worldId   <p>The id of the world containing the chunks</p>
+     * @param chunkKeys <p>The keys of the chunks to load</p>
+     */
+    private static void loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys) {
+        if (chunkKeys.length == 0) {
             return;
         }
+        int generation = loadGeneration;
+        persistence.loadChunks(worldId, chunkKeys, (records) -> {
+            if (generation == loadGeneration) {
+                attachLaunchpads(worldId, records);
+            }
+        });
+    }
 
-        double horizontalVelocity = configurationSection.getDouble(key + ".horizontalVelocity", -1);
-        double verticalVelocity = configurationSection.getDouble(key + ".verticalVelocity", -1);
-        String fixedDirectionString = configurationSection.getString(key + ".fixedDirection");
-        BlockFace fixedDirection = null;
-        if (fixedDirectionString != null) {
-            fixedDirection = BlockFace.valueOf(configurationSection.getString(key + ".fixedDirection"));
+    /**
+     * Attaches the given stored launchpads to their blocks
+     *
+     * @param worldId <p>The id of the world containing the launchpads</p>
+     * @param records <p>The stored launchpads to attach</p>
+     */
+    private static void attachLaunchpads(@NotNull UUID worldId, @NotNull List<LaunchpadRecord> records) {
+        World world = Bukkit.getWorld(worldId);
+        if (world == null) {
+            return;
+        }
+        List<JournalEntry> removedLaunchpads = new ArrayList<>();
+        for (LaunchpadRecord record : records) {
+            // Skip launchpads whose chunk was unloaded again, or which were registered while being loaded
+            if (!world.isChunkLoaded(record.x() >> 4, record.z() >> 4) ||
+                    getLaunchpadBlock(worldId, record.x(), record.y(), record.z()) != null) {
+                continue;
+            }
+            Block block = world.getBlockAt(record.x(), record.y(), record.z());
+            // If the launchpad's block has been removed, forget the launchpad
+            if (block.getType().isAir()) {
+                removedLaunchpads.add(new JournalEntry(JournalAction.REMOVE, record));
+                continue;
+            }
+            addLaunchpadBlock(new LaunchpadBlock(block, record.horizontalVelocity(), record.verticalVelocity(),
+                    record.fixedDirection()));
         }
-        launchpadBlocks.put(launchpadBlock, new LaunchpadBlock(launchpadBlock, horizontalVelocity, verticalVelocity,
-                fixedDirection));
+        persistence.recordChanges(removedLaunchpads);
     }
 
 }
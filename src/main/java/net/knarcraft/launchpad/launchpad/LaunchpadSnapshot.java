@@ -0,0 +1,15 @@
+package net.knarcraft.launchpad.launchpad;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot of all launchpads in loaded chunks
+ *
+ * @param version    <p>The registry version the snapshot was taken at, which changes whenever a launchpad is added,
+ *                   removed or moved</p>
+ * @param launchpads <p>All launchpads in loaded chunks at the time of the snapshot</p>
+ */
+public record LaunchpadSnapshot(long version, @NotNull List<LaunchpadBlock> launchpads) {
+}
@@ -0,0 +1,239 @@
+package net.knarcraft.launchpad.launchpad;
+
+import net.knarcraft.launchpad.util.LongObjectHashMap;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A spatial index of the attached launchpads in a single world
+ *
+ * <p>Launchpads are indexed both by their packed block position, for exact lookups, and bucketed by their chunk, so
+ * that area queries only visit the launchpads in the chunks overlapping the queried area.</p>
+ */
+public final class WorldLaunchpadIndex {
+
+    private final @NotNull LongObjectHashMap<LaunchpadBlock> launchpadBlocks = new LongObjectHashMap<>();
+    private final @NotNull LongObjectHashMap<List<LaunchpadBlock>> chunkLaunchpads = new LongObjectHashMap<>();
+
+    /**
+     * Gets the number of launchpads in this index
+     *
+     * @return <p>The number of indexed launchpads</p>
+     */
+    public int size() {
+        return launchpadBlocks.size();
+    }
+
+    /**
+     * Gets the number of chunks containing at least one launchpad
+     *
+     * @return <p>The number of occupied chunks</p>
+     */
+    public int getChunkCount() {
+        return chunkLaunchpads.size();
+    }
+
+    /**
+     * Gets the launchpad at the given block coordinates
+     *
+     * @param x <p>The x-coordinate of the launchpad's block</p>
+     * @param y <p>The y-coordinate of the launchpad's block</p>
+     * @param z <p>The z-coordinate of the launchpad's block</p>
+     * @return <p>The launchpad, or null if no launchpad is indexed at the coordinates</p>
+     */
+    public @Nullable LaunchpadBlock get(int x, int y, int z) {
+        return launchpadBlocks.get(PositionHelper.getBlockKey(x, y, z));
+    }
+
+    /**
+     * Adds a launchpad to this index, replacing any launchpad at the same position
+     *
+     * @param launchpadBlock <p>The launchpad to add</p>
+     */
+    public void add(@NotNull LaunchpadBlock launchpadBlock) {
+        Block block = launchpadBlock.getBlock();
+        LaunchpadBlock replaced = launchpadBlocks.put(PositionHelper.getBlockKey(block.getX(), block.getY(),
+                block.getZ()), launchpadBlock);
+        long chunkKey = PositionHelper.getChunkKeyAt(block.getX(), block.getZ());
+        List<LaunchpadBlock> chunk = chunkLaunchpads.get(chunkKey);
+        if (chunk == null) {
+            chunk = new ArrayList<>(4);
+            chunkLaunchpads.put(chunkKey, chunk);
+        } else if (replaced != null) {
+            chunk.remove(replaced);
+        }
+        chunk.add(launchpadBlock);
+    }
+
+    /**
+     * Removes the launchpad at the given block coordinates
+     *
+     * @param x <p>The x-coordinate of the launchpad's block</p>
+     * @param y <p>The y-coordinate of the launchpad's block</p>
+     * @param z <p>The z-coordinate of the launchpad's block</p>
+     * @return <p>The removed launchpad, or null if no launchpad was indexed at the coordinates</p>
+     */
+    public @Nullable LaunchpadBlock remove(int x, int y, int z) {
+        LaunchpadBlock removed = launchpadBlocks.remove(PositionHelper.getBlockKey(x, y, z));
+        if (removed == null) {
+            return null;
+        }
+        long chunkKey = PositionHelper.getChunkKeyAt(x, z);
+        List<LaunchpadBlock> chunk = chunkLaunchpads.get(chunkKey);
+        if (chunk != null) {
+            chunk.remove(removed);
+            if (chunk.isEmpty()) {
+                chunkLaunchpads.remove(chunkKey);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all launchpads in the given chunk
+     *
+     * @param chunkX <p>The x-coordinate of the chunk</p>
+     * @param chunkZ <p>The z-coordinate of the chunk</p>
+     * @return <p>The removed launchpads, or null if the chunk contained no launchpads</p>
+     */
+    public @Nullable List<LaunchpadBlock> removeChunk(int chunkX, int chunkZ) {
+        List<LaunchpadBlock> chunk = chunkLaunchpads.remove(PositionHelper.getChunkKey(chunkX, chunkZ));
+        if (chunk == null) {
+            return null;
+        }
+        for (LaunchpadBlock launchpadBlock : chunk) {
+            Block block = launchpadBlock.getBlock();
+            launchpadBlocks.remove(PositionHelper.getBlockKey(block.getX(), block.getY(), block.getZ()));
+        }
+        return chunk;
+    }
+
+    /**
+     * Checks whether the given chunk contains at least one launchpad
+     *
+     * @param chunkX <p>The x-coordinate of the chunk</p>
+     * @param chunkZ <p>The z-coordinate of the chunk</p>
+     * @return <p>True if the chunk contains a launchpad</p>
+     */
+    public boolean hasLaunchpads(int chunkX, int chunkZ) {
+        return chunkLaunchpads.containsKey(PositionHelper.getChunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the keys of all chunks containing at least one launchpad
+     *
+     * @return <p>The keys of all occupied chunks</p>
+     */
+    public @NotNull long[] getChunkKeys() {
+        return chunkLaunchpads.keys();
+    }
+
+    /**
+     * Performs the given action for each indexed launchpad
+     *
+     * @param action <p>The action to perform</p>
+     */
+    public void forEach(@NotNull Consumer<? super LaunchpadBlock> action) {
+        launchpadBlocks.forEachValue(action);
+    }
+
+    /**
+     * Performs the given action for each launchpad in the given chunk
+     *
+     * @param chunkX <p>The x-coordinate of the chunk</p>
+     * @param chunkZ <p>The z-coordinate of the chunk</p>
+     * @param action <p>The action to perform</p>
+     */
+    public void forEachInChunk(int chunkX, int chunkZ, @NotNull Consumer<? super LaunchpadBlock> action) {
+        List<LaunchpadBlock> chunk = chunkLaunchpads.get(PositionHelper.getChunkKey(chunkX, chunkZ));
+        if (chunk != null) {
+            chunk.forEach(action);
+        }
+    }
+
+    /**
+     * Performs the given action for each launchpad inside the given cuboid
+     *
+     * @param minX   <p>The smallest x-coordinate of the cuboid, inclusive</p>
+     * @param minY   <p>The smallest y-coordinate of the cuboid, inclusive</p>
+     * @param minZ   <p>The smallest z-coordinate of the cuboid, inclusive</p>
+     * @param maxX   <p>The largest x-coordinate of the cuboid, inclusive</p>
+     * @param maxY   <p>The largest y-coordinate of the cuboid, inclusive</p>
+     * @param maxZ   <p>The largest z-coordinate of the cuboid, inclusive</p>
+     * @param action <p>The action to perform</p>
+     */
+    public void forEachInCuboid(int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                @NotNull Consumer<? super LaunchpadBlock> action) {
+        forEachInChunkRange(minX >> 4, minZ >> 4, maxX >> 4, maxZ >> 4, (launchpadBlock) -> {
+            Block block = launchpadBlock.getBlock();
+            if (block.getX() >= minX && block.getX() <= maxX && block.getY() >= minY && block.getY() <= maxY &&
+                    block.getZ() >= minZ && block.getZ() <= maxZ) {
+                action.accept(launchpadBlock);
+            }
+        });
+    }
+
+    /**
+     * Performs the given action for each launchpad whose block center is within the given radius of a point
+     *
+     * @param x      <p>The x-coordinate of the point</p>
+     * @param y      <p>The y-coordinate of the point</p>
+     * @param z      <p>The z-coordinate of the point</p>
+     * @param radius <p>The radius to search</p>
+     * @param action <p>The action to perform</p>
+     */
+    public void forEachInRadius(double x, double y, double z, double radius,
+                                @NotNull Consumer<? super LaunchpadBlock> action) {
+        double radiusSquared = radius * radius;
+        forEachInChunkRange((int) Math.floor(x - radius) >> 4, (int) Math.floor(z - radius) >> 4,
+                (int) Math.floor(x + radius) >> 4, (int) Math.floor(z + radius) >> 4, (launchpadBlock) -> {
+                    Block block = launchpadBlock.getBlock();
+                    double distanceX = block.getX() + 0.5 - x;
+                    double distanceY = block.getY() + 0.5 - y;
+                    double distanceZ = block.getZ() + 0.5 - z;
+                    if (distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= radiusSquared) {
+                        action.accept(launchpadBlock);
+                    }
+                });
+    }
+
+    /**
+     * Performs the given action for each launchpad in the given range of chunks
+     *
+     * <p>If the range covers more chunks than there are occupied chunks, the occupied chunks are filtered instead,
+     * so a query never costs more than visiting every occupied chunk once.</p>
+     *
+     * @param minChunkX <p>The smallest chunk x-coordinate, inclusive</p>
+     * @param minChunkZ <p>The smallest chunk z-coordinate, inclusive</p>
+     * @param maxChunkX <p>The largest chunk x-coordinate, inclusive</p>
+     * @param maxChunkZ <p>The largest chunk z-coordinate, inclusive</p>
+     * @param action    <p>The action to perform</p>
+     */
+    private void forEachInChunkRange(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+                                     @NotNull Consumer<LaunchpadBlock> action) {
+        long chunksInRange = ((long) maxChunkX - minChunkX + 1) * ((long) maxChunkZ - minChunkZ + 1);
+        if (chunksInRange > chunkLaunchpads.size()) {
+            chunkLaunchpads.forEach((chunkKey, chunk) -> {
+                int chunkX = PositionHelper.getChunkX(chunkKey);
+                int chunkZ = PositionHelper.getChunkZ(chunkKey);
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    chunk.forEach(action);
+                }
+            });
+            return;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                forEachInChunk(chunkX, chunkZ, action);
+            }
+        }
+    }
+
+}
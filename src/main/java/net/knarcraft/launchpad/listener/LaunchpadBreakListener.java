@@ -14,10 +14,8 @@ import org.bukkit.event.block.LeavesDecayEvent;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 
-import java.util.Collection;
-
 /**
- * A listener for broken launchpads
+ * A listener for broken and moved launchpads
  */
 public class LaunchpadBreakListener implements Listener {
 
@@ -33,22 +31,22 @@ public class LaunchpadBreakListener implements Listener {
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onPistonLaunchpadPush(BlockPistonExtendEvent event) {
-        unregisterLaunchpad(event.getBlocks());
+        LaunchpadBlockHandler.moveLaunchpadBlocks(event.getBlocks(), event.getDirection());
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onPistonLaunchpadPull(BlockPistonRetractEvent event) {
-        unregisterLaunchpad(event.getBlocks());
+        LaunchpadBlockHandler.moveLaunchpadBlocks(event.getBlocks(), event.getDirection());
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onLaunchpadExplode(EntityExplodeEvent event) {
-        unregisterLaunchpad(event.blockList());
+        LaunchpadBlockHandler.unregisterLaunchpadBlocks(event.blockList());
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onLaunchpadExplode(BlockExplodeEvent event) {
-        unregisterLaunchpad(event.blockList());
+        LaunchpadBlockHandler.unregisterLaunchpadBlocks(event.blockList());
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
@@ -63,17 +61,6 @@ public class LaunchpadBreakListener implements Listener {
         }
     }
 
-    /**
-     * Unregisters the given blocks if it's a registered launchpad
-     *
-     * @param blocks <p>The blocks to unregister</p>
-     */
-    private void unregisterLaunchpad(Collection<Block> blocks) {
-        for (Block block : blocks) {
-            unregisterLaunchpad(block);
-        }
-    }
-
     /**
      * Unregisters the given block if it's a registered launchpad
      *
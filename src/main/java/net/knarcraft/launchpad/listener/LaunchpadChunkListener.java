@@ -0,0 +1,37 @@
+package net.knarcraft.launchpad.listener;
+
+import net.knarcraft.launchpad.launchpad.LaunchpadBlockHandler;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * A listener for attaching and detaching launchpads as their chunks are loaded and unloaded
+ */
+public class LaunchpadChunkListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        LaunchpadBlockHandler.loadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        LaunchpadBlockHandler.unloadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        LaunchpadBlockHandler.loadWorld(event.getWorld());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        LaunchpadBlockHandler.unloadWorld(event.getWorld());
+    }
+
+}
@@ -114,8 +114,8 @@ public class LaunchpadModifyListener implements Listener {
             // If not already registered as a launchpad, register it. This completely handles the ADD case
             LaunchpadBlockHandler.registerLaunchpadBlock(existingLaunchpad);
         } else {
-            // Save if the existing launchpad was modified
-            LaunchpadBlockHandler.saveAll();
+            // Store the changes if the existing launchpad was modified
+            LaunchpadBlockHandler.updateLaunchpadBlock(existingLaunchpad);
         }
 
         return true;
@@ -0,0 +1,36 @@
+package net.knarcraft.launchpad.listener;
+
+import net.knarcraft.launchpad.launchpad.LaunchHandler;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+/**
+ * A listener for detecting players moving onto launchpads
+ *
+ * <p>This listener is only registered while the event detection mode is used.</p>
+ */
+public class LaunchpadMoveListener implements Listener {
+
+    @EventHandler(ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null || to.getWorld() == null) {
+            return;
+        }
+
+        // Only check for launchpads once the player enters a new block, or the block below the player changes
+        int x = Location.locToBlock(to.getX());
+        int y = Location.locToBlock(to.getY());
+        int z = Location.locToBlock(to.getZ());
+        int belowY = Location.locToBlock(to.getY() - 0.2);
+        if (x == from.getBlockX() && y == from.getBlockY() && z == from.getBlockZ() &&
+                belowY == Location.locToBlock(from.getY() - 0.2)) {
+            return;
+        }
+        LaunchHandler.checkPosition(event.getPlayer(), to.getWorld(), x, y, z, belowY);
+    }
+
+}
@@ -0,0 +1,28 @@
+package net.knarcraft.launchpad.particle;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The squared distances deciding which level of detail a player sees a launchpad's particles at
+ *
+ * @param fullDistanceSquared    <p>The squared distance within which players see the full particle shape</p>
+ * @param reducedDistanceSquared <p>The squared distance within which players see the reduced particle shape</p>
+ * @param viewDistanceSquared    <p>The squared distance within which players see any particles</p>
+ */
+public record DetailDistances(double fullDistanceSquared, double reducedDistanceSquared,
+                              double viewDistanceSquared) {
+
+    /**
+     * Creates new detail distances from the given distances
+     *
+     * @param fullDistance    <p>The distance within which players see the full particle shape</p>
+     * @param reducedDistance <p>The distance within which players see the reduced particle shape</p>
+     * @param viewDistance    <p>The distance within which players see any particles</p>
+     * @return <p>The created detail distances</p>
+     */
+    public static @NotNull DetailDistances of(double fullDistance, double reducedDistance, double viewDistance) {
+        return new DetailDistances(fullDistance * fullDistance, reducedDistance * reducedDistance,
+                viewDistance * viewDistance);
+    }
+
+}
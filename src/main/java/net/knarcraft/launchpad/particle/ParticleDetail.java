@@ -0,0 +1,14 @@
+package net.knarcraft.launchpad.particle;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The particle shapes drawn above a launchpad at each level of detail
+ *
+ * @param full    <p>The full shape, drawn for nearby players</p>
+ * @param reduced <p>The shape with fewer particles, drawn for players further away</p>
+ * @param single  <p>A single point, drawn for distant players</p>
+ */
+public record ParticleDetail(@NotNull ParticleShape full, @NotNull ParticleShape reduced,
+                             @NotNull ParticleShape single) {
+}
@@ -0,0 +1,174 @@
+package net.knarcraft.launchpad.particle;
+
+import net.knarcraft.launchpad.Launchpad;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A scheduler spreading launchpad particles evenly across the spawn interval
+ *
+ * <p>Instead of spawning particles for every launchpad in the same tick, the launchpads are split into one slice per
+ * tick of the interval, and each tick spawns the particles of a single slice. Each tick sends at most the budgeted
+ * number of particle packets, counting one packet per point of the shape each player sees, but always handles at
+ * least one launchpad. If the budget is too low to cover every launchpad within the interval, the cycle is stretched
+ * until every launchpad has been handled, and a warning is logged.</p>
+ *
+ * <p>Particles are sent separately to each player within the view distance of a launchpad. The full shape is only
+ * sent to nearby players, while players further away see fewer particles, or a single particle.</p>
+ */
+public final class ParticleScheduler implements Runnable {
+
+    private final @NotNull ParticleDetail defaultDetail;
+    private final @NotNull Map<Material, ParticleDetail> materialDetails;
+    private final @NotNull Supplier<Collection<Block>> launchpadSupplier;
+    private final @NotNull DetailDistances distances;
+    private final int interval;
+    private final int budget;
+    private final @NotNull List<Player> viewers = new ArrayList<>();
+    private final @NotNull Location viewerLocation = new Location(null, 0, 0, 0);
+    private @NotNull World[] viewerWorlds = new World[0];
+    private @NotNull double[] viewerPositions = new double[0];
+    private @NotNull List<Block> cycleLaunchpads = List.of();
+    private int cursor;
+    private int launchpadsPerTick;
+    private int cycleTicks;
+    private boolean fallingBehind;
+
+    /**
+     * Instantiates a new particle scheduler
+     *
+     * @param defaultDetail     <p>The particle shapes drawn above launchpads without a material-specific shape</p>
+     * @param materialDetails   <p>The particle shapes drawn above launchpads of specific materials</p>
+     * @param launchpadSupplier <p>The supplier of the launchpad blocks to spawn particles for</p>
+     * @param distances         <p>The distances deciding which level of detail players see</p>
+     * @param interval          <p>The number of ticks between each time particles are spawned for a launchpad</p>
+     * @param budget            <p>The maximum number of particle packets to send in a single tick</p>
+     */
+    public ParticleScheduler(@NotNull ParticleDetail defaultDetail,
+                             @NotNull Map<Material, ParticleDetail> materialDetails,
+                             @NotNull Supplier<Collection<Block>> launchpadSupplier,
+                             @NotNull DetailDistances distances, int interval, int budget) {
+        this.defaultDetail = defaultDetail;
+        this.materialDetails = materialDetails;
+        this.launchpadSupplier = launchpadSupplier;
+        this.distances = distances;
+        this.interval = Math.max(interval, 1);
+        this.budget = Math.max(budget, 1);
+        // Start the first cycle on the first run
+        this.cycleTicks = this.interval;
+    }
+
+    @Override
+    public void run() {
+        if (this.cursor >= this.cycleLaunchpads.size() && this.cycleTicks >= this.interval) {
+            startCycle();
+        }
+        this.cycleTicks++;
+
+        // Launchpads skipped due to the budget are caught up with in the following ticks
+        int end = (int) Math.min(this.cycleLaunchpads.size(), (long) this.launchpadsPerTick * this.cycleTicks);
+        if (this.cursor < end) {
+            collectViewers();
+            int sentPackets = 0;
+            do {
+                sentPackets += spawnParticles(this.cycleLaunchpads.get(this.cursor++));
+            } while (this.cursor < end && sentPackets < this.budget);
+            this.viewers.clear();
+        }
+
+        if (this.cycleTicks == this.interval && this.cursor < this.cycleLaunchpads.size() && !this.fallingBehind) {
+            this.fallingBehind = true;
+            Launchpad.log(Level.WARNING, "Unable to spawn particles for all " + this.cycleLaunchpads.size() +
+                    " visible launchpads every " + this.interval + " ticks, as at most " + this.budget +
+                    " particle packets are sent each tick. Particles will be spawned less often.");
+        }
+    }
+
+    /**
+     * Draws the particles of the given launchpad for every player within view distance
+     *
+     * @param block <p>The launchpad's block</p>
+     * @return <p>The number of particle packets sent</p>
+     */
+    private int spawnParticles(@NotNull Block block) {
+        World world = block.getWorld();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        ParticleDetail detail = null;
+        int sentPackets = 0;
+        for (int i = 0; i < this.viewers.size(); i++) {
+            if (this.viewerWorlds[i] != world) {
+                continue;
+            }
+            double distanceX = this.viewerPositions[i * 3] - (x + 0.5);
+            double distanceY = this.viewerPositions[i * 3 + 1] - (y + 0.5);
+            double distanceZ = this.viewerPositions[i * 3 + 2] - (z + 0.5);
+            double distanceSquared = distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ;
+            if (distanceSquared > this.distances.viewDistanceSquared()) {
+                continue;
+            }
+            if (detail == null) {
+                detail = this.materialDetails.getOrDefault(block.getType(), this.defaultDetail);
+            }
+            ParticleShape shape;
+            if (distanceSquared <= this.distances.fullDistanceSquared()) {
+                shape = detail.full();
+            } else if (distanceSquared <= this.distances.reducedDistanceSquared()) {
+                shape = detail.reduced();
+            } else {
+                shape = detail.single();
+            }
+            shape.spawn(this.viewers.get(i), x, y, z);
+            sentPackets += shape.getPointCount();
+        }
+        return sentPackets;
+    }
+
+    /**
+     * Stores the world and position of every online player
+     */
+    private void collectViewers() {
+        this.viewers.addAll(Bukkit.getOnlinePlayers());
+        int count = this.viewers.size();
+        if (this.viewerWorlds.length < count) {
+            this.viewerWorlds = new World[count * 2];
+            this.viewerPositions = new double[count * 6];
+        }
+        for (int i = 0; i < count; i++) {
+            this.viewers.get(i).getLocation(this.viewerLocation);
+            this.viewerWorlds[i] = this.viewerLocation.getWorld();
+            this.viewerPositions[i * 3] = this.viewerLocation.getX();
+            this.viewerPositions[i * 3 + 1] = this.viewerLocation.getY();
+            this.viewerPositions[i * 3 + 2] = this.viewerLocation.getZ();
+        }
+    }
+
+    /**
+     * Starts a new cycle, splitting the currently visible launchpads into one slice per tick of the interval
+     */
+    private void startCycle() {
+        if (this.cycleTicks <= this.interval) {
+            this.fallingBehind = false;
+        }
+        Collection<Block> launchpads = this.launchpadSupplier.get();
+        this.cycleLaunchpads = launchpads instanceof List<Block> list ? list : List.copyOf(launchpads);
+        this.cursor = 0;
+        this.cycleTicks = 0;
+        int size = this.cycleLaunchpads.size();
+        this.launchpadsPerTick = (size + this.interval - 1) / this.interval;
+    }
+
+}
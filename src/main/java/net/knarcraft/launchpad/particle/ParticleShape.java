@@ -0,0 +1,212 @@
+package net.knarcraft.launchpad.particle;
+
+import net.knarcraft.knarlib.particle.ParticleMode;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A particle shape drawn above a launchpad
+ *
+ * <p>The positions of the shape's particles are calculated once, relative to the launchpad's block, so drawing the
+ * shape for a player only sends the particles.</p>
+ */
+public final class ParticleShape {
+
+    private static final double MINIMUM_DENSITY = 0.01;
+
+    private final @NotNull Particle type;
+    private final int amount;
+    private final double offsetX;
+    private final double offsetY;
+    private final double offsetZ;
+    private final double extra;
+    private final @NotNull double[] points;
+
+    /**
+     * Instantiates a new particle shape
+     *
+     * @param type    <p>The type of particle to spawn</p>
+     * @param amount  <p>The number of particles to spawn at each point</p>
+     * @param offsetX <p>The spread of the particles in the x direction</p>
+     * @param offsetY <p>The spread of the particles in the y direction</p>
+     * @param offsetZ <p>The spread of the particles in the z direction</p>
+     * @param extra   <p>Extra data for the particle</p>
+     * @param points  <p>The x, y and z-coordinates of each point, relative to the launchpad's block</p>
+     */
+    private ParticleShape(@NotNull Particle type, int amount, double offsetX, double offsetY, double offsetZ,
+                          double extra, @NotNull double[] points) {
+        this.type = type;
+        this.amount = amount;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.extra = extra;
+        this.points = points;
+    }
+
+    /**
+     * Gets the number of points in this shape
+     *
+     * @return <p>The number of particle spawns needed to draw this shape</p>
+     */
+    public int getPointCount() {
+        return this.points.length / 3;
+    }
+
+    /**
+     * Draws this shape above the given block, only visible to the given player
+     *
+     * @param player <p>The player to draw the shape for</p>
+     * @param blockX <p>The x-coordinate of the launchpad's block</p>
+     * @param blockY <p>The y-coordinate of the launchpad's block</p>
+     * @param blockZ <p>The z-coordinate of the launchpad's block</p>
+     */
+    public void spawn(@NotNull Player player, int blockX, int blockY, int blockZ) {
+        for (int i = 0; i < this.points.length; i += 3) {
+            player.spawnParticle(this.type, blockX + this.points[i], blockY + this.points[i + 1],
+                    blockZ + this.points[i + 2], this.amount, this.offsetX, this.offsetY, this.offsetZ, this.extra);
+        }
+    }
+
+    /**
+     * Creates a new particle shape
+     *
+     * <p>Every shape is centered on the launchpad's block, and rests on the plane at the given height offset.</p>
+     *
+     * @param mode         <p>The shape to draw</p>
+     * @param type         <p>The type of particle to spawn</p>
+     * @param amount       <p>The number of particles to spawn at each point</p>
+     * @param offsetX      <p>The spread of the particles in the x direction</p>
+     * @param offsetY      <p>The spread of the particles in the y direction</p>
+     * @param offsetZ      <p>The spread of the particles in the z direction</p>
+     * @param heightOffset <p>The height above the launchpad's block to draw the shape at</p>
+     * @param density      <p>The distance between each point of the shape</p>
+     * @param extra        <p>Extra data for the particle</p>
+     * @return <p>The created particle shape</p>
+     */
+    public static @NotNull ParticleShape create(@NotNull ParticleMode mode, @NotNull Particle type, int amount,
+                                                double offsetX, double offsetY, double offsetZ, double heightOffset,
+                                                double density, double extra) {
+        PointList points = new PointList();
+        double spacing = Math.max(density, MINIMUM_DENSITY);
+        double top = heightOffset + 1;
+        switch (mode) {
+            case SINGLE -> points.add(0.5, heightOffset, 0.5);
+            case SQUARE -> addSquare(points, heightOffset, spacing);
+            case CIRCLE -> {
+                int count = Math.max((int) Math.round(Math.PI / spacing), 4);
+                for (int i = 0; i < count; i++) {
+                    double angle = 2 * Math.PI * i / count;
+                    points.add(0.5 + 0.5 * Math.cos(angle), heightOffset, 0.5 + 0.5 * Math.sin(angle));
+                }
+            }
+            case PYRAMID -> {
+                addSquare(points, heightOffset, spacing);
+                addLine(points, 0, heightOffset, 0, 0.5, top, 0.5, spacing);
+                addLine(points, 1, heightOffset, 0, 0.5, top, 0.5, spacing);
+                addLine(points, 1, heightOffset, 1, 0.5, top, 0.5, spacing);
+                addLine(points, 0, heightOffset, 1, 0.5, top, 0.5, spacing);
+                points.add(0.5, top, 0.5);
+            }
+            case CUBE -> {
+                addSquare(points, heightOffset, spacing);
+                addSquare(points, top, spacing);
+                addLine(points, 0, heightOffset, 0, 0, top, 0, spacing);
+                addLine(points, 1, heightOffset, 0, 1, top, 0, spacing);
+                addLine(points, 1, heightOffset, 1, 1, top, 1, spacing);
+                addLine(points, 0, heightOffset, 1, 0, top, 1, spacing);
+            }
+            case SPHERE -> {
+                // Spread the points evenly across the sphere along a golden spiral
+                int count = Math.max((int) Math.round(Math.PI / (spacing * spacing)), 8);
+                double goldenAngle = Math.PI * (3 - Math.sqrt(5));
+                for (int i = 0; i < count; i++) {
+                    double y = 1 - (2 * (i + 0.5) / count);
+                    double radius = Math.sqrt(1 - y * y);
+                    double angle = goldenAngle * i;
+                    points.add(0.5 + 0.5 * radius * Math.cos(angle), heightOffset + 0.5 + 0.5 * y,
+                            0.5 + 0.5 * radius * Math.sin(angle));
+                }
+            }
+        }
+        return new ParticleShape(type, amount, offsetX, offsetY, offsetZ, extra, points.toArray());
+    }
+
+    /**
+     * Adds the outline of a square covering the launchpad's block
+     *
+     * @param points  <p>The list to add the points to</p>
+     * @param y       <p>The height of the square, relative to the launchpad's block</p>
+     * @param spacing <p>The distance between each point</p>
+     */
+    private static void addSquare(@NotNull PointList points, double y, double spacing) {
+        addLine(points, 0, y, 0, 1, y, 0, spacing);
+        addLine(points, 1, y, 0, 1, y, 1, spacing);
+        addLine(points, 1, y, 1, 0, y, 1, spacing);
+        addLine(points, 0, y, 1, 0, y, 0, spacing);
+    }
+
+    /**
+     * Adds evenly spaced points along a line, excluding the line's end point
+     *
+     * @param points  <p>The list to add the points to</p>
+     * @param fromX   <p>The x-coordinate of the line's start point</p>
+     * @param fromY   <p>The y-coordinate of the line's start point</p>
+     * @param fromZ   <p>The z-coordinate of the line's start point</p>
+     * @param toX     <p>The x-coordinate of the line's end point</p>
+     * @param toY     <p>The y-coordinate of the line's end point</p>
+     * @param toZ     <p>The z-coordinate of the line's end point</p>
+     * @param spacing <p>The distance between each point</p>
+     */
+    private static void addLine(@NotNull PointList points, double fromX, double fromY, double fromZ, double toX,
+                                double toY, double toZ, double spacing) {
+        double length = Math.sqrt(Math.pow(toX - fromX, 2) + Math.pow(toY - fromY, 2) + Math.pow(toZ - fromZ, 2));
+        int count = Math.max((int) Math.round(length / spacing), 1);
+        for (int i = 0; i < count; i++) {
+            double fraction = (double) i / count;
+            points.add(fromX + (toX - fromX) * fraction, fromY + (toY - fromY) * fraction,
+                    fromZ + (toZ - fromZ) * fraction);
+        }
+    }
+
+    /**
+     * A growable list of points, stored as consecutive x, y and z-coordinates
+     */
+    private static final class PointList {
+
+        private double[] coordinates = new double[48];
+        private int size;
+
+        /**
+         * Adds a point to this list
+         *
+         * @param x <p>The x-coordinate of the point</p>
+         * @param y <p>The y-coordinate of the point</p>
+         * @param z <p>The z-coordinate of the point</p>
+         */
+        private void add(double x, double y, double z) {
+            if (this.size + 3 > this.coordinates.length) {
+                double[] grown = new double[this.coordinates.length * 2];
+                System.arraycopy(this.coordinates, 0, grown, 0, this.size);
+                this.coordinates = grown;
+            }
+            this.coordinates[this.size++] = x;
+            this.coordinates[this.size++] = y;
+            this.coordinates[this.size++] = z;
+        }
+
+        /**
+         * Gets the coordinates of all points in this list
+         *
+         * @return <p>The coordinates of all points</p>
+         */
+        private @NotNull double[] toArray() {
+            double[] result = new double[this.size];
+            System.arraycopy(this.coordinates, 0, result, 0, this.size);
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package net.knarcraft.launchpad.particle;
+
+import net.knarcraft.knarlib.particle.ParticleTrailSpawner;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduler deciding how often particle trails are spawned
+ *
+ * <p>In adaptive mode, the time between ticks is tracked as an exponentially weighted moving average. While the
+ * server is taking longer than the maximum tick time, trails are spawned less often, and once the server recovers,
+ * the trail spawn rate is gradually restored. Trails are also spawned less often the more trails are active at the
+ * same time.</p>
+ */
+public final class TrailScheduler implements Runnable {
+
+    private static final double NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NORMAL_TICK_TIME = 50;
+    private static final double SMOOTHING = 0.05;
+    private static final int ADJUSTMENT_INTERVAL = 20;
+
+    private final @NotNull ParticleTrailSpawner trailSpawner;
+    private final @NotNull Set<UUID> activeTrails = new HashSet<>();
+    private final int minSpawnDelay;
+    private final int maxSpawnDelay;
+    private final double maxTickTime;
+    private final int fullRateTrails;
+    private final boolean adaptive;
+    private double averageTickTime = NORMAL_TICK_TIME;
+    private long lastTickTime;
+    private int loadSpawnDelay;
+    private int spawnDelay;
+    private int ticksSinceSpawn;
+    private int ticksSinceAdjustment;
+
+    /**
+     * Instantiates a new trail scheduler spawning trails at a fixed rate
+     *
+     * @param trailSpawner <p>The trail spawner to run</p>
+     * @param spawnDelay   <p>The number of ticks between each time trails are spawned</p>
+     */
+    public TrailScheduler(@NotNull ParticleTrailSpawner trailSpawner, int spawnDelay) {
+        this(trailSpawner, spawnDelay, spawnDelay, Double.MAX_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Instantiates a new trail scheduler adapting its spawn rate to the server's load
+     *
+     * @param trailSpawner   <p>The trail spawner to run</p>
+     * @param minSpawnDelay  <p>The number of ticks between each time trails are spawned while the server is healthy</p>
+     * @param maxSpawnDelay  <p>The highest number of ticks between each time trails are spawned</p>
+     * @param maxTickTime    <p>The average tick time, in milliseconds, above which trails are spawned less often</p>
+     * @param fullRateTrails <p>The number of active trails above which trails are spawned less often</p>
+     */
+    public TrailScheduler(@NotNull ParticleTrailSpawner trailSpawner, int minSpawnDelay, int maxSpawnDelay,
+                          double maxTickTime, int fullRateTrails) {
+        this(trailSpawner, minSpawnDelay, maxSpawnDelay, maxTickTime, fullRateTrails, true);
+    }
+
+    /**
+     * Instantiates a new trail scheduler
+     *
+     * @param trailSpawner   <p>The trail spawner to run</p>
+     * @param minSpawnDelay  <p>The number of ticks between each time trails are spawned while the server is healthy</p>
+     * @param maxSpawnDelay  <p>The highest number of ticks between each time trails are spawned</p>
+     * @param maxTickTime    <p>The average tick time, in milliseconds, above which trails are spawned less often</p>
+     * @param fullRateTrails <p>The number of active trails above which trails are spawned less often</p>
+     * @param adaptive       <p>Whether to adapt the spawn rate to the server's load</p>
+     */
+    private TrailScheduler(@NotNull ParticleTrailSpawner trailSpawner, int minSpawnDelay, int maxSpawnDelay,
+                           double maxTickTime, int fullRateTrails, boolean adaptive) {
+        this.trailSpawner = trailSpawner;
+        this.minSpawnDelay = Math.max(minSpawnDelay, 1);
+        this.maxSpawnDelay = Math.max(maxSpawnDelay, this.minSpawnDelay);
+        // A healthy server takes 50 milliseconds per tick, so a lower maximum would never let trails recover
+        this.maxTickTime = Math.max(maxTickTime, NORMAL_TICK_TIME + 1);
+        this.fullRateTrails = Math.max(fullRateTrails, 1);
+        this.adaptive = adaptive;
+        this.loadSpawnDelay = this.minSpawnDelay;
+        this.spawnDelay = this.minSpawnDelay;
+    }
+
+    /**
+     * Starts a particle trail behind the given player
+     *
+     * @param playerId <p>The id of the player to start a trail for</p>
+     */
+    public void startTrail(@NotNull UUID playerId) {
+        this.trailSpawner.startTrail(playerId);
+        this.activeTrails.add(playerId);
+    }
+
+    /**
+     * Removes the particle trail behind the given player
+     *
+     * @param playerId <p>The id of the player to remove the trail for</p>
+     */
+    public void removeTrail(@NotNull UUID playerId) {
+        this.trailSpawner.removeTrail(playerId);
+        this.activeTrails.remove(playerId);
+    }
+
+    /**
+     * Gets the ids of all players with an active particle trail
+     *
+     * @return <p>A copy of the ids of all players with an active trail</p>
+     */
+    public @NotNull Set<UUID> getActiveTrails() {
+        return Set.copyOf(this.activeTrails);
+    }
+
+    @Override
+    public void run() {
+        if (this.adaptive) {
+            measureTickTime();
+            if (++this.ticksSinceAdjustment >= ADJUSTMENT_INTERVAL) {
+                this.ticksSinceAdjustment = 0;
+                adjustSpawnDelay();
+            }
+        }
+        if (this.activeTrails.isEmpty()) {
+            return;
+        }
+        if (++this.ticksSinceSpawn >= this.spawnDelay) {
+            this.ticksSinceSpawn = 0;
+            this.trailSpawner.run();
+        }
+    }
+
+    /**
+     * Updates the average tick time with the time passed since the last tick
+     */
+    private void measureTickTime() {
+        long now = System.nanoTime();
+        if (this.lastTickTime != 0) {
+            double tickTime = (now - this.lastTickTime) / NANOS_PER_MILLISECOND;
+            this.averageTickTime += SMOOTHING * (tickTime - this.averageTickTime);
+        }
+        this.lastTickTime = now;
+    }
+
+    /**
+     * Adjusts the spawn delay to the current server load and number of active trails
+     */
+    private void adjustSpawnDelay() {
+        // Back off quickly while overloaded, but only recover once the server is clearly healthy again
+        if (this.averageTickTime > this.maxTickTime) {
+            this.loadSpawnDelay = Math.min(this.loadSpawnDelay * 2, this.maxSpawnDelay);
+        } else if (this.averageTickTime <= (NORMAL_TICK_TIME + this.maxTickTime) / 2) {
+            this.loadSpawnDelay = Math.max(this.loadSpawnDelay - 1, this.minSpawnDelay);
+        }
+        int trailSpawnDelay = (int) Math.ceil((double) this.minSpawnDelay * this.activeTrails.size() /
+                this.fullRateTrails);
+        this.spawnDelay = Math.min(Math.max(this.loadSpawnDelay, trailSpawnDelay), this.maxSpawnDelay);
+    }
+
+}
@@ -0,0 +1,174 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.block.BlockFace;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A launchpad storage backed by a compact binary snapshot and a change journal
+ *
+ * <p>The snapshot starts with a header containing a magic number and the format version, followed by a table of all
+ * worlds containing launchpads, and the number of launchpads in each. The launchpads follow as fixed-width records,
+ * in the same order as the world table. Each record contains the launchpad's packed block position, its horizontal
+ * and vertical velocity, and its fixed direction, so the whole snapshot is read in a single linear pass.</p>
+ */
+public final class BinaryLaunchpadStorage extends JournaledLaunchpadStorage {
+
+    /**
+     * The name of the file containing the launchpad snapshot
+     */
+    public static final String FILE_NAME = "launchpads.dat";
+
+    private static final int MAGIC = 0x4C504144;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3;
+    private static final int WORLD_SIZE = Long.BYTES * 2 + Integer.BYTES;
+    private static final int RECORD_SIZE = Long.BYTES + Double.BYTES * 2 + 1;
+
+    /**
+     * Instantiates a new binary launchpad storage
+     *
+     * @param dataFolder <p>The folder to store launchpad data in</p>
+     */
+    public BinaryLaunchpadStorage(@NotNull File dataFolder) {
+        super(dataFolder, FILE_NAME, "launchpads.journal");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the snapshot is invalid, it's moved aside instead of being overwritten by the next snapshot.</p>
+     */
+    @Override
+    protected void readSnapshot(@NotNull File snapshotFile, @NotNull Consumer<LaunchpadRecord> consumer) {
+        if (!snapshotFile.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The snapshot is too large");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of snapshot");
+                }
+            }
+            buffer.flip();
+            readRecords(buffer, consumer);
+        } catch (IOException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to load launchpads from " + FILE_NAME + ": " +
+                    exception.getMessage());
+            File invalidFile = new File(snapshotFile.getParentFile(), FILE_NAME + ".invalid");
+            if (!snapshotFile.renameTo(invalidFile)) {
+                Launchpad.log(Level.SEVERE, "Unable to move the invalid " + FILE_NAME + " aside. It will be " +
+                        "overwritten the next time launchpads are saved!");
+            }
+        }
+    }
+
+    @Override
+    protected boolean writeSnapshot(@NotNull File snapshotFile, @NotNull List<LaunchpadRecord> snapshot) {
+        Map<UUID, List<LaunchpadRecord>> worldRecords = new LinkedHashMap<>();
+        for (LaunchpadRecord record : snapshot) {
+            worldRecords.computeIfAbsent(record.worldId(), (key) -> new ArrayList<>()).add(record);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + worldRecords.size() * WORLD_SIZE +
+                snapshot.size() * RECORD_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(worldRecords.size());
+        for (Map.Entry<UUID, List<LaunchpadRecord>> entry : worldRecords.entrySet()) {
+            buffer.putLong(entry.getKey().getMostSignificantBits());
+            buffer.putLong(entry.getKey().getLeastSignificantBits());
+            buffer.putInt(entry.getValue().size());
+        }
+        for (List<LaunchpadRecord> records : worldRecords.values()) {
+            for (LaunchpadRecord record : records) {
+                buffer.putLong(PositionHelper.getBlockKey(record.x(), record.y(), record.z()));
+                buffer.putDouble(record.horizontalVelocity());
+                buffer.putDouble(record.verticalVelocity());
+                buffer.put((byte) (record.fixedDirection() != null ? record.fixedDirection().ordinal() : -1));
+            }
+        }
+        buffer.flip();
+
+        try {
+            writeAtomically(snapshotFile.toPath(), buffer);
+            return true;
+        } catch (IOException e) {
+            Launchpad.log(Level.SEVERE, "Unable to save launchpads. Data loss will occur! Please report " +
+                    "details about this problem to the developer.");
+            return false;
+        }
+    }
+
+    /**
+     * Reads all launchpad records in the given snapshot data
+     *
+     * @param buffer   <p>The snapshot data to read</p>
+     * @param consumer <p>The consumer to give each read launchpad to</p>
+     * @throws IOException <p>If the snapshot data is invalid</p>
+     */
+    private static void readRecords(@NotNull ByteBuffer buffer,
+                                    @NotNull Consumer<LaunchpadRecord> consumer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a launchpad snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int worldCount = buffer.getInt();
+        if (worldCount < 0 || buffer.remaining() < (long) worldCount * WORLD_SIZE) {
+            throw new IOException("Truncated world table");
+        }
+        UUID[] worldIds = new UUID[worldCount];
+        int[] recordCounts = new int[worldCount];
+        long totalRecords = 0;
+        for (int i = 0; i < worldCount; i++) {
+            worldIds[i] = new UUID(buffer.getLong(), buffer.getLong());
+            recordCounts[i] = buffer.getInt();
+            if (recordCounts[i] < 0) {
+                throw new IOException("Invalid launchpad count " + recordCounts[i]);
+            }
+            totalRecords += recordCounts[i];
+        }
+        if (buffer.remaining() != totalRecords * RECORD_SIZE) {
+            throw new IOException("Expected " + totalRecords + " launchpads, but the snapshot size does not match");
+        }
+
+        BlockFace[] directions = BlockFace.values();
+        for (int i = 0; i < worldCount; i++) {
+            for (int j = 0; j < recordCounts[i]; j++) {
+                long blockKey = buffer.getLong();
+                double horizontalVelocity = buffer.getDouble();
+                double verticalVelocity = buffer.getDouble();
+                byte direction = buffer.get();
+                if (direction >= directions.length) {
+                    throw new IOException("Invalid launchpad direction " + direction);
+                }
+                consumer.accept(new LaunchpadRecord(worldIds[i], PositionHelper.getBlockX(blockKey),
+                        PositionHelper.getBlockY(blockKey), PositionHelper.getBlockZ(blockKey), horizontalVelocity,
+                        verticalVelocity, direction >= 0 ? directions[direction] : null));
+            }
+        }
+    }
+
+}
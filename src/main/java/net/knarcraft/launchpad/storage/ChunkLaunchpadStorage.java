@@ -0,0 +1,278 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * A launchpad storage which stores launchpads in the persistent data container of their chunk
+ *
+ * <p>Each chunk stores its launchpads in a single container, keyed by the launchpads' packed positions within the
+ * chunk. Launchpads are therefore loaded and saved together with their chunk, and launchpads in unloaded chunks are
+ * never kept in memory. As chunks can only be accessed from the main thread, so can this storage. Launchpads can only
+ * be stored while their chunk is loaded, as loading a chunk from storage would stall the main thread.</p>
+ */
+public final class ChunkLaunchpadStorage implements LaunchpadStorage {
+
+    private static final int RECORD_SIZE = Double.BYTES * 2 + 1;
+
+    private final @NotNull NamespacedKey launchpadsKey;
+
+    /**
+     * Instantiates a new chunk launchpad storage
+     */
+    public ChunkLaunchpadStorage() {
+        this.launchpadsKey = new NamespacedKey(Launchpad.getInstance(), "launchpads");
+    }
+
+    @Override
+    public boolean isMainThreadOnly() {
+        return true;
+    }
+
+    @Override
+    public void load() {
+        // Launchpads are loaded together with their chunks
+    }
+
+    @Override
+    public boolean canStore(@NotNull LaunchpadRecord record) {
+        World world = Bukkit.getWorld(record.worldId());
+        return world != null && world.isChunkLoaded(record.x() >> 4, record.z() >> 4);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only chunks which are currently loaded are read.</p>
+     */
+    @Override
+    public @NotNull List<LaunchpadRecord> loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys) {
+        List<LaunchpadRecord> records = new ArrayList<>();
+        World world = Bukkit.getWorld(worldId);
+        if (world == null) {
+            return records;
+        }
+        for (long chunkKey : chunkKeys) {
+            int chunkX = PositionHelper.getChunkX(chunkKey);
+            int chunkZ = PositionHelper.getChunkZ(chunkKey);
+            if (world.isChunkLoaded(chunkX, chunkZ)) {
+                readChunk(world.getChunkAt(chunkX, chunkZ), records);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only launchpads in loaded chunks can be read.</p>
+     */
+    @Override
+    public @NotNull List<LaunchpadRecord> loadAll() {
+        List<LaunchpadRecord> records = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                readChunk(chunk, records);
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void upsert(@NotNull LaunchpadRecord record) {
+        PersistentDataContainer launchpads = getLaunchpads(record);
+        if (launchpads == null) {
+            return;
+        }
+        launchpads.set(getPositionKey(record), PersistentDataType.BYTE_ARRAY, encode(record));
+        setLaunchpads(record, launchpads);
+    }
+
+    @Override
+    public void delete(@NotNull LaunchpadRecord record) {
+        PersistentDataContainer launchpads = getLaunchpads(record);
+        if (launchpads == null) {
+            return;
+        }
+        launchpads.remove(getPositionKey(record));
+        setLaunchpads(record, launchpads);
+    }
+
+    @Override
+    public boolean applyChanges(@NotNull List<JournalEntry> changes) {
+        boolean applied = true;
+        for (JournalEntry change : changes) {
+            if (!canStore(change.record())) {
+                applied = false;
+            } else if (change.action() == JournalAction.REMOVE) {
+                delete(change.record());
+            } else {
+                upsert(change.record());
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public void flush() {
+        // Launchpads are saved together with their chunks
+    }
+
+    @Override
+    public boolean hasExternalChanges() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // Nothing is kept open
+    }
+
+    /**
+     * Reads all launchpads stored in the given chunk
+     *
+     * @param chunk   <p>The chunk to read</p>
+     * @param records <p>The list to add the read launchpads to</p>
+     */
+    private void readChunk(@NotNull Chunk chunk, @NotNull List<LaunchpadRecord> records) {
+        PersistentDataContainer launchpads = chunk.getPersistentDataContainer().get(launchpadsKey,
+                PersistentDataType.TAG_CONTAINER);
+        if (launchpads == null) {
+            return;
+        }
+        UUID worldId = chunk.getWorld().getUID();
+        for (NamespacedKey key : launchpads.getKeys()) {
+            byte[] data = launchpads.get(key, PersistentDataType.BYTE_ARRAY);
+            try {
+                int positionKey = Integer.parseInt(key.getKey());
+                if (data == null || data.length != RECORD_SIZE) {
+                    throw new IllegalArgumentException("Invalid launchpad data");
+                }
+                records.add(decode(worldId, (chunk.getX() << 4) + PositionHelper.getChunkPositionX(positionKey),
+                        PositionHelper.getChunkPositionY(positionKey),
+                        (chunk.getZ() << 4) + PositionHelper.getChunkPositionZ(positionKey), data));
+            } catch (IllegalArgumentException exception) {
+                Launchpad.log(Level.WARNING, "Skipping invalid launchpad " + key.getKey() + " in chunk " +
+                        chunk.getX() + "," + chunk.getZ());
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of the launchpads stored in the chunk containing the given launchpad
+     *
+     * @param record <p>The launchpad whose chunk to read</p>
+     * @return <p>The chunk's launchpads, or null if the launchpad's chunk is not loaded</p>
+     */
+    private @Nullable PersistentDataContainer getLaunchpads(@NotNull LaunchpadRecord record) {
+        PersistentDataContainer chunkContainer = getChunkContainer(record);
+        if (chunkContainer == null) {
+            Launchpad.log(Level.WARNING, "Unable to store launchpad " + record.getLocationKey() +
+                    ", as its chunk is not loaded");
+            return null;
+        }
+        PersistentDataContainer launchpads = chunkContainer.get(launchpadsKey, PersistentDataType.TAG_CONTAINER);
+        if (launchpads == null) {
+            launchpads = chunkContainer.getAdapterContext().newPersistentDataContainer();
+        }
+        return launchpads;
+    }
+
+    /**
+     * Stores the given launchpads in the chunk containing the given launchpad
+     *
+     * @param record     <p>The launchpad whose chunk to write</p>
+     * @param launchpads <p>The launchpads to store in the chunk</p>
+     */
+    private void setLaunchpads(@NotNull LaunchpadRecord record, @NotNull PersistentDataContainer launchpads) {
+        PersistentDataContainer chunkContainer = getChunkContainer(record);
+        if (chunkContainer == null) {
+            return;
+        }
+        if (launchpads.isEmpty()) {
+            chunkContainer.remove(launchpadsKey);
+        } else {
+            chunkContainer.set(launchpadsKey, PersistentDataType.TAG_CONTAINER, launchpads);
+        }
+    }
+
+    /**
+     * Gets the persistent data container of the chunk containing the given launchpad
+     *
+     * @param record <p>The launchpad to get the chunk container for</p>
+     * @return <p>The chunk's container, or null if the chunk is not loaded</p>
+     */
+    private @Nullable PersistentDataContainer getChunkContainer(@NotNull LaunchpadRecord record) {
+        World world = Bukkit.getWorld(record.worldId());
+        int chunkX = record.x() >> 4;
+        int chunkZ = record.z() >> 4;
+        if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+            return null;
+        }
+        return world.getChunkAt(chunkX, chunkZ).getPersistentDataContainer();
+    }
+
+    /**
+     * Gets the key identifying the given launchpad's position within its chunk
+     *
+     * @param record <p>The launchpad to get the key for</p>
+     * @return <p>The launchpad's position key</p>
+     */
+    private static @NotNull NamespacedKey getPositionKey(@NotNull LaunchpadRecord record) {
+        return new NamespacedKey(Launchpad.getInstance(), String.valueOf(
+                PositionHelper.getChunkPositionKey(record.x(), record.y(), record.z())));
+    }
+
+    /**
+     * Encodes the properties of the given launchpad
+     *
+     * @param record <p>The launchpad to encode</p>
+     * @return <p>The encoded launchpad properties</p>
+     */
+    private static @NotNull byte[] encode(@NotNull LaunchpadRecord record) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putDouble(record.horizontalVelocity());
+        buffer.putDouble(record.verticalVelocity());
+        buffer.put((byte) (record.fixedDirection() != null ? record.fixedDirection().ordinal() : -1));
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the properties of a launchpad
+     *
+     * @param worldId <p>The id of the launchpad's world</p>
+     * @param x       <p>The x-coordinate of the launchpad</p>
+     * @param y       <p>The y-coordinate of the launchpad</p>
+     * @param z       <p>The z-coordinate of the launchpad</p>
+     * @param data    <p>The encoded launchpad properties</p>
+     * @return <p>The decoded launchpad</p>
+     */
+    private static @NotNull LaunchpadRecord decode(@NotNull UUID worldId, int x, int y, int z, @NotNull byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        double horizontalVelocity = buffer.getDouble();
+        double verticalVelocity = buffer.getDouble();
+        byte direction = buffer.get();
+        BlockFace[] directions = BlockFace.values();
+        if (direction >= directions.length) {
+            throw new IllegalArgumentException("Invalid launchpad direction");
+        }
+        return new LaunchpadRecord(worldId, x, y, z, horizontalVelocity, verticalVelocity,
+                direction >= 0 ? directions[direction] : null);
+    }
+
+}
@@ -0,0 +1,24 @@
+package net.knarcraft.launchpad.storage;
+
+/**
+ * The types of changes which can be recorded in the launchpad journal
+ */
+public enum JournalAction {
+
+    /**
+     * A new launchpad was registered
+     */
+    ADD,
+
+    /**
+     * A registered launchpad had its properties changed
+     */
+    MODIFY,
+
+    /**
+     * A registered launchpad was unregistered
+     */
+    REMOVE,
+    ;
+
+}
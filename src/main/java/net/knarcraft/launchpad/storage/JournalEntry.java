@@ -0,0 +1,12 @@
+package net.knarcraft.launchpad.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single change recorded in the launchpad journal
+ *
+ * @param action <p>The action that was performed</p>
+ * @param record <p>The state of the launchpad after the action was performed</p>
+ */
+public record JournalEntry(@NotNull JournalAction action, @NotNull LaunchpadRecord record) {
+}
@@ -0,0 +1,302 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.util.LongObjectHashMap;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A launchpad storage backed by a snapshot file and a change journal
+ *
+ * <p>All launchpads are kept in memory, bucketed by chunk. Every change is appended to the journal, and the journal
+ * is compacted into a new snapshot when flushed. Subclasses decide how the snapshot is read and written.</p>
+ */
+public abstract class JournaledLaunchpadStorage implements LaunchpadStorage {
+
+    private final @NotNull File snapshotFile;
+    private final @NotNull LaunchpadJournal journal;
+    private @NotNull Map<UUID, LongObjectHashMap<List<LaunchpadRecord>>> records = new HashMap<>();
+    private int size;
+    private long fingerprint;
+    private boolean compactionPending;
+
+    /**
+     * Instantiates a new journaled launchpad storage
+     *
+     * @param dataFolder      <p>The folder to store launchpad data in</p>
+     * @param snapshotName    <p>The name of the snapshot file</p>
+     * @param journalFileName <p>The name of the journal file</p>
+     */
+    protected JournaledLaunchpadStorage(@NotNull File dataFolder, @NotNull String snapshotName,
+                                        @NotNull String journalFileName) {
+        this.snapshotFile = new File(dataFolder, snapshotName);
+        this.journal = new LaunchpadJournal(dataFolder, journalFileName);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The last snapshot is read, and any journaled changes made after the snapshot are replayed on top of it.</p>
+     */
+    @Override
+    public void load() {
+        journal.close();
+        this.records = new HashMap<>();
+        this.size = 0;
+        this.compactionPending = false;
+        readSnapshot(this.snapshotFile, this::put);
+        journal.replay((entry) -> {
+            if (entry.action() == JournalAction.REMOVE) {
+                remove(entry.record());
+            } else {
+                put(entry.record());
+            }
+        });
+        this.fingerprint = getFingerprint();
+    }
+
+    /**
+     * Checks whether this storage contains no launchpads
+     *
+     * @return <p>True if no launchpads are stored</p>
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public @NotNull List<LaunchpadRecord> loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys) {
+        List<LaunchpadRecord> chunkRecords = new ArrayList<>();
+        LongObjectHashMap<List<LaunchpadRecord>> worldRecords = records.get(worldId);
+        if (worldRecords == null) {
+            return chunkRecords;
+        }
+        for (long chunkKey : chunkKeys) {
+            List<LaunchpadRecord> recordsInChunk = worldRecords.get(chunkKey);
+            if (recordsInChunk != null) {
+                chunkRecords.addAll(recordsInChunk);
+            }
+        }
+        return chunkRecords;
+    }
+
+    @Override
+    public @NotNull List<LaunchpadRecord> loadAll() {
+        List<LaunchpadRecord> allRecords = new ArrayList<>(this.size);
+        for (LongObjectHashMap<List<LaunchpadRecord>> worldRecords : records.values()) {
+            worldRecords.forEachValue(allRecords::addAll);
+        }
+        return allRecords;
+    }
+
+    @Override
+    public void upsert(@NotNull LaunchpadRecord record) {
+        JournalAction action = put(record) ? JournalAction.MODIFY : JournalAction.ADD;
+        journal.append(action, record);
+    }
+
+    @Override
+    public void delete(@NotNull LaunchpadRecord record) {
+        if (remove(record)) {
+            journal.append(JournalAction.REMOVE, record);
+        }
+    }
+
+    @Override
+    public boolean applyChanges(@NotNull List<JournalEntry> changes) {
+        for (JournalEntry change : changes) {
+            if (change.action() == JournalAction.REMOVE) {
+                remove(change.record());
+            } else {
+                put(change.record());
+            }
+        }
+        return journal.append(changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the journal contains any changes, a snapshot of all launchpads is written, and the journal entries it
+     * contains are removed. If the snapshot could not be written, the compaction is retried on the next flush.</p>
+     */
+    @Override
+    public void flush() {
+        if (journal.getEntryCount() == 0 && !this.compactionPending) {
+            return;
+        }
+        List<File> compactedSegments = journal.rotate();
+        this.compactionPending = !writeSnapshot(this.snapshotFile, loadAll());
+        if (!this.compactionPending) {
+            for (File segment : compactedSegments) {
+                if (!segment.delete()) {
+                    Launchpad.log(Level.WARNING, "Unable to delete compacted journal " + segment.getName());
+                }
+            }
+        }
+        this.fingerprint = getFingerprint();
+    }
+
+    @Override
+    public boolean hasExternalChanges() {
+        return getFingerprint() != this.fingerprint;
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    /**
+     * Reads all launchpads stored in the given snapshot
+     *
+     * @param snapshotFile <p>The snapshot file to read</p>
+     * @param consumer     <p>The consumer to give each read launchpad to</p>
+     */
+    protected abstract void readSnapshot(@NotNull File snapshotFile, @NotNull Consumer<LaunchpadRecord> consumer);
+
+    /**
+     * Writes the given launchpads to the given snapshot, replacing its contents
+     *
+     * @param snapshotFile <p>The snapshot file to write</p>
+     * @param snapshot     <p>The launchpads to write</p>
+     * @return <p>True if the snapshot was successfully written</p>
+     */
+    protected abstract boolean writeSnapshot(@NotNull File snapshotFile, @NotNull List<LaunchpadRecord> snapshot);
+
+    /**
+     * Writes the given data to a temporary file, and moves it in place of the target file
+     *
+     * <p>A crash while writing therefore never leaves a partially written file behind.</p>
+     *
+     * @param target <p>The file to replace</p>
+     * @param data   <p>The data to write</p>
+     * @throws IOException <p>If unable to write the data</p>
+     */
+    protected static void writeAtomically(@NotNull Path target, @NotNull ByteBuffer data) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temporaryFile = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Stores the given record in memory, replacing any record at the same position
+     *
+     * @param record <p>The record to store</p>
+     * @return <p>True if a record at the same position was replaced</p>
+     */
+    private boolean put(@NotNull LaunchpadRecord record) {
+        LongObjectHashMap<List<LaunchpadRecord>> worldRecords = records.computeIfAbsent(record.worldId(),
+                (key) -> new LongObjectHashMap<>());
+        long chunkKey = PositionHelper.getChunkKeyAt(record.x(), record.z());
+        List<LaunchpadRecord> chunkRecords = worldRecords.get(chunkKey);
+        if (chunkRecords == null) {
+            chunkRecords = new ArrayList<>(4);
+            worldRecords.put(chunkKey, chunkRecords);
+        }
+        int index = indexOf(chunkRecords, record);
+        if (index >= 0) {
+            chunkRecords.set(index, record);
+            return true;
+        }
+        chunkRecords.add(record);
+        this.size++;
+        return false;
+    }
+
+    /**
+     * Removes the record at the position of the given record from memory
+     *
+     * @param record <p>The record to remove</p>
+     * @return <p>True if a record was removed</p>
+     */
+    private boolean remove(@NotNull LaunchpadRecord record) {
+        LongObjectHashMap<List<LaunchpadRecord>> worldRecords = records.get(record.worldId());
+        if (worldRecords == null) {
+            return false;
+        }
+        long chunkKey = PositionHelper.getChunkKeyAt(record.x(), record.z());
+        List<LaunchpadRecord> chunkRecords = worldRecords.get(chunkKey);
+        if (chunkRecords == null) {
+            return false;
+        }
+        int index = indexOf(chunkRecords, record);
+        if (index < 0) {
+            return false;
+        }
+        chunkRecords.remove(index);
+        if (chunkRecords.isEmpty()) {
+            worldRecords.remove(chunkKey);
+        }
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Gets the index of the record at the same position as the given record
+     *
+     * @param chunkRecords <p>The records of the chunk containing the record</p>
+     * @param record       <p>The record to find</p>
+     * @return <p>The index of the record, or -1 if no record is stored at the position</p>
+     */
+    private static int indexOf(@NotNull List<LaunchpadRecord> chunkRecords, @NotNull LaunchpadRecord record) {
+        for (int i = 0; i < chunkRecords.size(); i++) {
+            LaunchpadRecord chunkRecord = chunkRecords.get(i);
+            if (chunkRecord.x() == record.x() && chunkRecord.y() == record.y() && chunkRecord.z() == record.z()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a fingerprint of the modification time and size of the snapshot and all journal files
+     *
+     * <p>Changes appended to the active journal file by this storage are left out, so the fingerprint only changes
+     * if the files are changed by anything else. As this storage appends to the active journal file, only its size is
+     * considered.</p>
+     *
+     * @return <p>The fingerprint of the stored data</p>
+     */
+    private long getFingerprint() {
+        List<File> journalFiles = journal.getFiles();
+        File activeJournalFile = journalFiles.remove(journalFiles.size() - 1);
+        long fingerprint = 31 + activeJournalFile.length() - journal.getWrittenBytes();
+        journalFiles.add(this.snapshotFile);
+        for (File file : journalFiles) {
+            fingerprint = 31 * fingerprint + file.getName().hashCode();
+            fingerprint = 31 * fingerprint + file.lastModified();
+            fingerprint = 31 * fingerprint + file.length();
+        }
+        return fingerprint;
+    }
+
+}
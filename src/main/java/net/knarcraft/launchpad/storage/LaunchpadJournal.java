@@ -0,0 +1,304 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import org.bukkit.block.BlockFace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * An append-only journal of launchpad changes
+ *
+ * <p>Every change to the launchpad registry is appended as a single line, so that a change costs O(1) I/O. When the
+ * journal is compacted, the active journal file is rotated into a numbered segment, which can be deleted once a
+ * snapshot containing its changes has been written.</p>
+ */
+public final class LaunchpadJournal {
+
+    private static final String SEPARATOR = ",";
+
+    private final @NotNull File directory;
+    private final @NotNull String fileName;
+    private @Nullable BufferedWriter writer;
+    private int entryCount;
+    private long writtenBytes;
+    private int nextSegment;
+
+    /**
+     * Instantiates a new launchpad journal
+     *
+     * @param directory <p>The directory containing the journal files</p>
+     * @param fileName  <p>The name of the active journal file. Rotated segments get a numeric suffix.</p>
+     */
+    public LaunchpadJournal(@NotNull File directory, @NotNull String fileName) {
+        this.directory = directory;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Gets the number of entries in the active journal file
+     *
+     * <p>After the journal is replayed, this includes the entries of all rotated segments, as they have not yet been
+     * compacted. Rotating the journal resets the count to 0.</p>
+     *
+     * @return <p>The number of journal entries written since the journal was last rotated</p>
+     */
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Gets the number of bytes this journal has appended to the active journal file
+     *
+     * <p>Only bytes written since the journal was last replayed or rotated are counted.</p>
+     *
+     * @return <p>The number of bytes appended to the active journal file</p>
+     */
+    public long getWrittenBytes() {
+        return this.writtenBytes;
+    }
+
+    /**
+     * Appends a change to this journal
+     *
+     * @param action <p>The action that was performed</p>
+     * @param record <p>The state of the launchpad after the action was performed</p>
+     */
+    public void append(@NotNull JournalAction action, @NotNull LaunchpadRecord record) {
+        append(List.of(new JournalEntry(action, record)));
+    }
+
+    /**
+     * Appends a batch of changes to this journal
+     *
+     * <p>The whole batch is written before the journal is flushed, so a batch costs a single write to disk.</p>
+     *
+     * @param entries <p>The changes to append</p>
+     * @return <p>True if the changes were written</p>
+     */
+    public boolean append(@NotNull Collection<JournalEntry> entries) {
+        try {
+            if (this.writer == null) {
+                this.writer = Files.newBufferedWriter(getActiveFile().toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (JournalEntry entry : entries) {
+                String line = serialize(entry);
+                this.writer.write(line);
+                this.writer.newLine();
+                // Journal lines only contain ASCII characters, so each character is a single byte
+                this.writtenBytes += line.length() + System.lineSeparator().length();
+            }
+            this.writer.flush();
+            this.entryCount += entries.size();
+            return true;
+        } catch (IOException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to write to the launchpad journal. Data loss will occur! " +
+                    exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replays all rotated segments and the active journal, from oldest to newest
+     *
+     * <p>Removal entries only contain the position of the removed launchpad.</p>
+     *
+     * @param consumer <p>The consumer to give each journaled change to</p>
+     */
+    public void replay(@NotNull Consumer<JournalEntry> consumer) {
+        this.entryCount = 0;
+        this.writtenBytes = 0;
+        for (File file : getFiles()) {
+            if (file.exists()) {
+                replayFile(file, consumer);
+            }
+        }
+    }
+
+    /**
+     * Closes the active journal file, and moves it into a new numbered segment
+     *
+     * <p>The returned segments must only be deleted once a snapshot containing all of their changes has been
+     * successfully written.</p>
+     *
+     * @return <p>All rotated segments, including the one just created</p>
+     */
+    public @NotNull List<File> rotate() {
+        close();
+        // Make sure the next segment number is known before naming the new segment
+        getSegments();
+        File activeFile = getActiveFile();
+        if (activeFile.exists()) {
+            File segment = new File(this.directory, this.fileName + "." + this.nextSegment++);
+            if (!activeFile.renameTo(segment)) {
+                Launchpad.log(Level.SEVERE, "Unable to rotate the launchpad journal " + activeFile.getName());
+            }
+        }
+        this.entryCount = 0;
+        this.writtenBytes = 0;
+        return getSegments();
+    }
+
+    /**
+     * Closes the active journal file
+     */
+    public void close() {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.close();
+        } catch (IOException exception) {
+            Launchpad.log(Level.WARNING, "Unable to close the launchpad journal: " + exception.getMessage());
+        }
+        this.writer = null;
+    }
+
+    /**
+     * Gets all journal files, ordered from oldest to newest
+     *
+     * <p>The active journal file is always the last file, even if it does not exist.</p>
+     *
+     * @return <p>All rotated segments, followed by the active journal file</p>
+     */
+    public @NotNull List<File> getFiles() {
+        List<File> files = getSegments();
+        files.add(getActiveFile());
+        return files;
+    }
+
+    /**
+     * Gets the active journal file
+     *
+     * @return <p>The active journal file</p>
+     */
+    private @NotNull File getActiveFile() {
+        return new File(this.directory, this.fileName);
+    }
+
+    /**
+     * Gets all rotated journal segments, ordered from oldest to newest
+     *
+     * @return <p>All rotated journal segments</p>
+     */
+    private @NotNull List<File> getSegments() {
+        List<File> segments = new ArrayList<>();
+        File[] files = this.directory.listFiles();
+        if (files == null) {
+            return segments;
+        }
+        for (File file : files) {
+            if (getSegmentNumber(file) >= 0) {
+                segments.add(file);
+            }
+        }
+        segments.sort(Comparator.comparingInt(this::getSegmentNumber));
+        if (!segments.isEmpty()) {
+            this.nextSegment = Math.max(this.nextSegment,
+                    getSegmentNumber(segments.get(segments.size() - 1)) + 1);
+        }
+        return segments;
+    }
+
+    /**
+     * Gets the segment number of the given file
+     *
+     * @param file <p>The file to check</p>
+     * @return <p>The file's segment number, or -1 if the file is not a journal segment</p>
+     */
+    private int getSegmentNumber(@NotNull File file) {
+        String prefix = this.fileName + ".";
+        if (!file.getName().startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(file.getName().substring(prefix.length()));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * Replays a single journal file
+     *
+     * @param file     <p>The journal file to replay</p>
+     * @param consumer <p>The consumer to give each journaled change to</p>
+     */
+    private void replayFile(@NotNull File file, @NotNull Consumer<JournalEntry> consumer) {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                this.entryCount++;
+                try {
+                    consumer.accept(parse(line));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+                    // A partially written line is expected if the server crashed during a write
+                    Launchpad.log(Level.WARNING, "Skipping invalid launchpad journal entry: " + line);
+                }
+            }
+        } catch (IOException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to read launchpad journal " + file.getName() + ": " +
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Serializes a journal entry into a single journal line
+     *
+     * @param entry <p>The entry to serialize</p>
+     * @return <p>The serialized entry</p>
+     */
+    private @NotNull String serialize(@NotNull JournalEntry entry) {
+        LaunchpadRecord record = entry.record();
+        StringBuilder line = new StringBuilder(entry.action().name()).append(SEPARATOR).append(record.worldId())
+                .append(SEPARATOR).append(record.x()).append(SEPARATOR).append(record.y()).append(SEPARATOR)
+                .append(record.z());
+        if (entry.action() != JournalAction.REMOVE) {
+            line.append(SEPARATOR).append(record.horizontalVelocity()).append(SEPARATOR)
+                    .append(record.verticalVelocity()).append(SEPARATOR)
+                    .append(record.fixedDirection() != null ? record.fixedDirection().name() : "");
+        }
+        return line.toString();
+    }
+
+    /**
+     * Parses a single journal line
+     *
+     * @param line <p>The line to parse</p>
+     * @return <p>The parsed journal entry</p>
+     */
+    private @NotNull JournalEntry parse(@NotNull String line) {
+        String[] parts = line.split(SEPARATOR, -1);
+        JournalAction action = JournalAction.valueOf(parts[0]);
+        UUID worldId = UUID.fromString(parts[1]);
+        int x = Integer.parseInt(parts[2]);
+        int y = Integer.parseInt(parts[3]);
+        int z = Integer.parseInt(parts[4]);
+        if (action == JournalAction.REMOVE) {
+            return new JournalEntry(action, new LaunchpadRecord(worldId, x, y, z, -1, -1, null));
+        }
+
+        BlockFace fixedDirection = parts[7].isEmpty() ? null : BlockFace.valueOf(parts[7]);
+        return new JournalEntry(action, new LaunchpadRecord(worldId, x, y, z, Double.parseDouble(parts[5]),
+                Double.parseDouble(parts[6]), fixedDirection));
+    }
+
+}
@@ -0,0 +1,490 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Persists launchpads using the configured launchpad storage
+ *
+ * <p>All storage access happens on a single background thread, which keeps changes, queries and compactions in the
+ * order they were requested. Query results are handed back to the main thread. Storages which must be accessed from
+ * the main thread are instead called directly.</p>
+ */
+public final class LaunchpadPersistence {
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final String STORAGE_TYPE_FILE_NAME = "storage.type";
+
+    private final @NotNull File dataFolder;
+    private final @NotNull ExecutorService executor;
+    private @NotNull StorageType storageType = StorageType.BINARY;
+    private boolean loaded;
+    private int saveInterval = -1;
+    private int saveTaskId = -1;
+    private @Nullable LaunchpadStorage storage;
+    private @Nullable StorageType openStorageType;
+    private boolean synchronous;
+    private @Nullable YamlLaunchpadStorage pendingMigration;
+
+    /**
+     * Instantiates a new launchpad persistence
+     *
+     * @param dataFolder <p>The folder to store launchpad data in</p>
+     */
+    public LaunchpadPersistence(@NotNull File dataFolder) {
+        this.dataFolder = dataFolder;
+        this.executor = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "Launchpad persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the type of storage used for launchpads
+     *
+     * <p>The new storage is used once launchpads are next loaded.</p>
+     *
+     * @param storageType <p>The type of storage to use</p>
+     */
+    public void setStorageType(@NotNull StorageType storageType) {
+        if (storageType != this.storageType) {
+            this.storageType = storageType;
+            this.loaded = false;
+        }
+    }
+
+    /**
+     * Loads the configured storage, and waits until it's ready to be queried
+     *
+     * <p>If the storage type was changed, the previous storage is flushed and closed first. Any pending writes are
+     * completed before loading. If the stored launchpads were last saved using a different type of storage, they are
+     * moved into the configured storage. As launchpads stored in chunks can't be found without loading every chunk,
+     * the chunk storage is kept in use if it was used last. If the storage fails to load, launchpads are not migrated,
+     * and the storage is considered changed until it's loaded successfully.</p>
+     */
+    public void load() {
+        StorageType storageType = this.storageType;
+        StorageType storedType = readStoredType();
+        if (storedType == StorageType.CHUNK && storageType != StorageType.CHUNK) {
+            Launchpad.log(Level.SEVERE, "Unable to change the launchpad storage to " + storageType + ", as " +
+                    "launchpads stored in chunks can't be moved to another storage. Launchpads will still be stored " +
+                    "in chunks. Set storage.type to CHUNK to hide this error.");
+            storageType = StorageType.CHUNK;
+        }
+        if (this.storage == null || this.openStorageType != storageType) {
+            LaunchpadStorage previousStorage = this.storage;
+            if (previousStorage != null) {
+                await(() -> {
+                    previousStorage.flush();
+                    previousStorage.close();
+                });
+            }
+            this.storage = createStorage(storageType);
+            this.openStorageType = storageType;
+            this.synchronous = this.storage.isMainThreadOnly();
+        }
+
+        LaunchpadStorage storage = this.storage;
+        StorageType loadedType = storageType;
+        this.loaded = await(() -> {
+            closePendingMigration();
+            storage.load();
+            // Launchpads stored as YAML are moved by the data.yml migration
+            if (storedType != null && storedType != loadedType && storedType != StorageType.YAML) {
+                moveLaunchpads(storedType, storage);
+            }
+            if (loadedType != StorageType.YAML) {
+                migrateFromYaml(storage);
+            }
+        });
+        if (this.loaded) {
+            writeStoredType(storageType);
+        } else {
+            Launchpad.log(Level.SEVERE, "Unable to load launchpads. They will be loaded again on the next reload.");
+        }
+    }
+
+    /**
+     * Checks whether the stored launchpad data has been changed by anything other than this persistence
+     *
+     * <p>Any pending writes are completed before checking. If the storage has not been loaded yet, the data is always
+     * considered changed.</p>
+     *
+     * @return <p>True if the stored launchpads need to be loaded again</p>
+     */
+    public boolean hasExternalChanges() {
+        LaunchpadStorage storage = this.storage;
+        if (!this.loaded || storage == null) {
+            return true;
+        }
+        Boolean changed = awaitResult(storage::hasExternalChanges);
+        return changed == null || changed;
+    }
+
+    /**
+     * Loads the launchpads in the given chunks
+     *
+     * <p>The callback is run on the main thread, and only if any launchpads were found. Unless the storage must be
+     * accessed from the main thread, the launchpads are loaded in the background. Any launchpads in the chunks still
+     * waiting to be migrated from data.yml are migrated first.</p>
+     *
+     * @param worldId   <p>The id of the world containing the chunks</p>
+     * @param chunkKeys <p>The keys of the chunks to load launchpads for</p>
+     * @param callback  <p>The callback to run with the loaded launchpads</p>
+     */
+    public void loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys,
+                           @NotNull Consumer<List<LaunchpadRecord>> callback) {
+        run((storage) -> {
+            YamlLaunchpadStorage pendingMigration = this.pendingMigration;
+            if (pendingMigration != null) {
+                migrateFromYaml(storage, pendingMigration, pendingMigration.loadChunks(worldId, chunkKeys));
+            }
+            List<LaunchpadRecord> records = storage.loadChunks(worldId, chunkKeys);
+            if (records.isEmpty()) {
+                return;
+            }
+            if (this.synchronous) {
+                callback.accept(records);
+            } else if (Launchpad.getInstance().isEnabled()) {
+                Bukkit.getScheduler().runTask(Launchpad.getInstance(), () -> callback.accept(records));
+            }
+        });
+    }
+
+    /**
+     * Records a change to a launchpad
+     *
+     * @param action <p>The action that was performed</p>
+     * @param record <p>The state of the launchpad after the action was performed</p>
+     */
+    public void recordChange(@NotNull JournalAction action, @NotNull LaunchpadRecord record) {
+        run((storage) -> {
+            if (action == JournalAction.REMOVE) {
+                storage.delete(record);
+            } else {
+                storage.upsert(record);
+            }
+        });
+    }
+
+    /**
+     * Records a batch of changes to launchpads
+     *
+     * <p>The whole batch is committed to the storage as a single write.</p>
+     *
+     * @param changes <p>The changes to record</p>
+     */
+    public void recordChanges(@NotNull List<JournalEntry> changes) {
+        if (!changes.isEmpty()) {
+            run((storage) -> storage.applyChanges(changes));
+        }
+    }
+
+    /**
+     * Sets the interval used for flushing the storage
+     *
+     * @param saveInterval <p>The number of ticks between each flush</p>
+     */
+    public void setSaveInterval(int saveInterval) {
+        if (this.saveTaskId != -1 && this.saveInterval == saveInterval) {
+            return;
+        }
+        this.saveInterval = saveInterval;
+        if (this.saveTaskId != -1) {
+            Bukkit.getScheduler().cancelTask(this.saveTaskId);
+        }
+        this.saveTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(Launchpad.getInstance(), this::save,
+                saveInterval, Math.max(saveInterval, 1));
+    }
+
+    /**
+     * Flushes the storage in the background
+     */
+    public void save() {
+        run(LaunchpadStorage::flush);
+    }
+
+    /**
+     * Flushes and closes the storage, and waits for all writes to finish
+     *
+     * <p>This must be called when the plugin is disabled, and no changes can be recorded afterwards.</p>
+     */
+    public void shutdown() {
+        if (this.saveTaskId != -1) {
+            Bukkit.getScheduler().cancelTask(this.saveTaskId);
+            this.saveTaskId = -1;
+        }
+        run((storage) -> {
+            closePendingMigration();
+            storage.flush();
+            storage.close();
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Launchpad.log(Level.SEVERE, "Timed out while saving launchpads. Data loss may occur!");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            Launchpad.log(Level.SEVERE, "Interrupted while saving launchpads. Data loss may occur!");
+        }
+    }
+
+    /**
+     * Creates a new storage of the given type
+     *
+     * @param storageType <p>The type of storage to create</p>
+     * @return <p>The new storage</p>
+     */
+    private @NotNull LaunchpadStorage createStorage(@NotNull StorageType storageType) {
+        return switch (storageType) {
+            case BINARY -> new BinaryLaunchpadStorage(dataFolder);
+            case YAML -> new YamlLaunchpadStorage(dataFolder);
+            case SQLITE -> new SqliteLaunchpadStorage(dataFolder);
+            case CHUNK -> new ChunkLaunchpadStorage();
+        };
+    }
+
+    /**
+     * Gets the type of storage launchpads were last successfully loaded from
+     *
+     * @return <p>The type of storage last used, or null if unknown</p>
+     */
+    private @Nullable StorageType readStoredType() {
+        File storageTypeFile = new File(dataFolder, STORAGE_TYPE_FILE_NAME);
+        if (!storageTypeFile.exists()) {
+            return null;
+        }
+        try {
+            return StorageType.valueOf(Files.readString(storageTypeFile.toPath(), StandardCharsets.UTF_8).trim());
+        } catch (IOException | IllegalArgumentException exception) {
+            Launchpad.log(Level.WARNING, "Unable to read the type of the previously used launchpad storage: " +
+                    exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remembers the type of storage launchpads were loaded from
+     *
+     * @param storageType <p>The type of storage in use</p>
+     */
+    private void writeStoredType(@NotNull StorageType storageType) {
+        try {
+            Files.createDirectories(dataFolder.toPath());
+            Files.writeString(new File(dataFolder, STORAGE_TYPE_FILE_NAME).toPath(), storageType.name(),
+                    StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            Launchpad.log(Level.WARNING, "Unable to save the type of the launchpad storage. Launchpads will not be " +
+                    "moved if the storage type is changed: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Moves all launchpads from the storage of the given type into the given storage
+     *
+     * <p>Launchpads the target storage is unable to store yet are moved to data.yml, and are migrated from there once
+     * they can be stored. Launchpads are only removed from the previous storage once they have been stored
+     * elsewhere.</p>
+     *
+     * @param sourceType <p>The type of storage to move launchpads from</p>
+     * @param target     <p>The storage to move launchpads to</p>
+     * @throws IllegalStateException <p>If the launchpads could not be stored</p>
+     */
+    private void moveLaunchpads(@NotNull StorageType sourceType, @NotNull LaunchpadStorage target) {
+        LaunchpadStorage source = createStorage(sourceType);
+        source.load();
+        List<LaunchpadRecord> records = source.loadAll();
+        if (records.isEmpty()) {
+            source.close();
+            return;
+        }
+
+        List<JournalEntry> movedLaunchpads = new ArrayList<>();
+        List<JournalEntry> deferredLaunchpads = new ArrayList<>();
+        List<JournalEntry> removedLaunchpads = new ArrayList<>();
+        for (LaunchpadRecord record : records) {
+            if (target.canStore(record)) {
+                movedLaunchpads.add(new JournalEntry(JournalAction.ADD, record));
+            } else {
+                deferredLaunchpads.add(new JournalEntry(JournalAction.ADD, record));
+            }
+            removedLaunchpads.add(new JournalEntry(JournalAction.REMOVE, record));
+        }
+        if ((!movedLaunchpads.isEmpty() && !target.applyChanges(movedLaunchpads)) ||
+                (!deferredLaunchpads.isEmpty() && !deferToYaml(deferredLaunchpads))) {
+            source.close();
+            throw new IllegalStateException("Unable to move launchpads from the " + sourceType + " storage");
+        }
+        if (!source.applyChanges(removedLaunchpads)) {
+            Launchpad.log(Level.WARNING, "Unable to remove the moved launchpads from the " + sourceType + " storage.");
+        }
+        source.flush();
+        source.close();
+        Launchpad.log(Level.INFO, "Moved " + records.size() + " launchpads from the " + sourceType + " storage");
+    }
+
+    /**
+     * Stores the given launchpads in data.yml, so they are migrated once they can be stored
+     *
+     * @param launchpads <p>The launchpads to store</p>
+     * @return <p>True if the launchpads were stored</p>
+     */
+    private boolean deferToYaml(@NotNull List<JournalEntry> launchpads) {
+        YamlLaunchpadStorage yamlStorage = new YamlLaunchpadStorage(dataFolder);
+        yamlStorage.load();
+        boolean stored = yamlStorage.applyChanges(launchpads);
+        yamlStorage.flush();
+        yamlStorage.close();
+        return stored;
+    }
+
+    /**
+     * Moves all launchpads stored in data.yml into the given storage
+     *
+     * <p>Launchpads the storage is unable to store yet, such as launchpads in unloaded chunks, are kept in data.yml,
+     * and are migrated once their chunks are loaded. Once every launchpad has been migrated, data.yml is renamed, so
+     * the launchpads are only migrated once.</p>
+     *
+     * @param target <p>The storage to migrate launchpads to</p>
+     */
+    private void migrateFromYaml(@NotNull LaunchpadStorage target) {
+        File yamlFile = new File(dataFolder, YamlLaunchpadStorage.FILE_NAME);
+        if (!yamlFile.exists()) {
+            return;
+        }
+        YamlLaunchpadStorage yamlStorage = new YamlLaunchpadStorage(dataFolder);
+        yamlStorage.load();
+        this.pendingMigration = yamlStorage;
+        int migrated = migrateFromYaml(target, yamlStorage, yamlStorage.loadAll());
+        if (migrated > 0) {
+            Launchpad.log(Level.INFO, "Migrated " + migrated + " launchpads from data.yml");
+        }
+        if (this.pendingMigration != null) {
+            Launchpad.log(Level.WARNING, "Unable to migrate some launchpads from data.yml, as they are not " +
+                    "loaded. They will be migrated once their chunks are loaded.");
+        }
+    }
+
+    /**
+     * Moves the given launchpads from data.yml into the given storage
+     *
+     * <p>Once data.yml contains no more launchpads, it's renamed, and the migration is completed.</p>
+     *
+     * @param target      <p>The storage to migrate launchpads to</p>
+     * @param yamlStorage <p>The storage of data.yml</p>
+     * @param records     <p>The launchpads in data.yml to migrate</p>
+     * @return <p>The number of migrated launchpads</p>
+     */
+    private int migrateFromYaml(@NotNull LaunchpadStorage target, @NotNull YamlLaunchpadStorage yamlStorage,
+                                @NotNull List<LaunchpadRecord> records) {
+        List<JournalEntry> migratedLaunchpads = new ArrayList<>();
+        List<JournalEntry> removedLaunchpads = new ArrayList<>();
+        for (LaunchpadRecord record : records) {
+            if (target.canStore(record)) {
+                migratedLaunchpads.add(new JournalEntry(JournalAction.ADD, record));
+                removedLaunchpads.add(new JournalEntry(JournalAction.REMOVE, record));
+            }
+        }
+        if (migratedLaunchpads.isEmpty()) {
+            return 0;
+        }
+        // Only remove the launchpads from data.yml once they have been stored in the new storage
+        if (!target.applyChanges(migratedLaunchpads) || !yamlStorage.applyChanges(removedLaunchpads)) {
+            Launchpad.log(Level.SEVERE, "Unable to migrate launchpads from data.yml. data.yml has been kept.");
+            closePendingMigration();
+            return 0;
+        }
+        if (yamlStorage.isEmpty()) {
+            closePendingMigration();
+            File yamlFile = new File(dataFolder, YamlLaunchpadStorage.FILE_NAME);
+            if (!yamlFile.renameTo(new File(dataFolder, YamlLaunchpadStorage.FILE_NAME + ".migrated"))) {
+                Launchpad.log(Level.WARNING, "Unable to rename data.yml after migrating launchpads.");
+            }
+        }
+        return migratedLaunchpads.size();
+    }
+
+    /**
+     * Flushes and closes data.yml, if any launchpads are waiting to be migrated from it
+     */
+    private void closePendingMigration() {
+        YamlLaunchpadStorage pendingMigration = this.pendingMigration;
+        if (pendingMigration != null) {
+            pendingMigration.flush();
+            pendingMigration.close();
+            this.pendingMigration = null;
+        }
+    }
+
+    /**
+     * Runs the given task on the storage
+     *
+     * <p>Unless the storage must be accessed from the main thread, the task is run on the persistence thread.</p>
+     *
+     * @param task <p>The task to run</p>
+     */
+    private void run(@NotNull Consumer<LaunchpadStorage> task) {
+        LaunchpadStorage storage = this.storage;
+        if (storage == null) {
+            return;
+        }
+        if (this.synchronous) {
+            task.accept(storage);
+        } else {
+            executor.execute(() -> task.accept(storage));
+        }
+    }
+
+    /**
+     * Runs the given task on the storage's thread, and waits for it to finish
+     *
+     * @param task <p>The task to run</p>
+     * @return <p>True if the task finished without failing</p>
+     */
+    private boolean await(@NotNull Runnable task) {
+        return awaitResult(() -> {
+            task.run();
+            return Boolean.TRUE;
+        }) != null;
+    }
+
+    /**
+     * Runs the given task on the storage's thread, and waits for its result
+     *
+     * @param task <p>The task to run</p>
+     * @param <T>  <p>The type of the task's result</p>
+     * @return <p>The task's result, or null if the task failed</p>
+     */
+    private <T> @Nullable T awaitResult(@NotNull Callable<T> task) {
+        try {
+            if (this.synchronous) {
+                return task.call();
+            }
+            return executor.submit(task).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (Exception exception) {
+            Launchpad.log(Level.SEVERE, "Unable to access the launchpad storage: " + exception.getMessage());
+        }
+        return null;
+    }
+
+}
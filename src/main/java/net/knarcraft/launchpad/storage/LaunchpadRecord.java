@@ -0,0 +1,61 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.launchpad.LaunchpadBlock;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An immutable, coordinate-only representation of a stored launchpad
+ *
+ * @param worldId            <p>The id of the world the launchpad belongs to</p>
+ * @param x                  <p>The x-coordinate of the launchpad's block</p>
+ * @param y                  <p>The y-coordinate of the launchpad's block</p>
+ * @param z                  <p>The z-coordinate of the launchpad's block</p>
+ * @param horizontalVelocity <p>The raw horizontal velocity of the launchpad</p>
+ * @param verticalVelocity   <p>The raw vertical velocity of the launchpad</p>
+ * @param fixedDirection     <p>The fixed direction of the launchpad, or null if not fixed</p>
+ */
+public record LaunchpadRecord(@NotNull UUID worldId, int x, int y, int z, double horizontalVelocity,
+                              double verticalVelocity, @Nullable BlockFace fixedDirection) {
+
+    /**
+     * Creates a record describing the current state of the given launchpad block
+     *
+     * @param launchpadBlock <p>The launchpad block to describe</p>
+     * @return <p>A record describing the launchpad block</p>
+     */
+    public static @NotNull LaunchpadRecord fromLaunchpadBlock(@NotNull LaunchpadBlock launchpadBlock) {
+        Block block = launchpadBlock.getBlock();
+        return new LaunchpadRecord(Objects.requireNonNull(block.getWorld()).getUID(), block.getX(), block.getY(),
+                block.getZ(), launchpadBlock.getHorizontalVelocityRaw(), launchpadBlock.getVerticalVelocityRaw(),
+                launchpadBlock.getFixedDirection());
+    }
+
+    /**
+     * Gets the key used to identify this record's location in data.yml
+     *
+     * @return <p>This record's location key</p>
+     */
+    public @NotNull String getLocationKey() {
+        return getLocationKey(this.worldId, this.x, this.y, this.z);
+    }
+
+    /**
+     * Gets the key used to identify a launchpad location in data.yml
+     *
+     * @param worldId <p>The id of the launchpad's world</p>
+     * @param x       <p>The x-coordinate of the launchpad</p>
+     * @param y       <p>The y-coordinate of the launchpad</p>
+     * @param z       <p>The z-coordinate of the launchpad</p>
+     * @return <p>The location key</p>
+     */
+    public static @NotNull String getLocationKey(@NotNull UUID worldId, int x, int y, int z) {
+        return worldId + "," + x + "," + y + "," + z;
+    }
+
+}
@@ -0,0 +1,100 @@
+package net.knarcraft.launchpad.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A storage backend for launchpads
+ *
+ * <p>A storage is only ever accessed from a single thread, so implementations need no synchronization. Every change
+ * is passed to the storage as it happens, and each implementation decides when the change is made durable.</p>
+ */
+public interface LaunchpadStorage {
+
+    /**
+     * Opens this storage, and reads anything needed before launchpads can be queried
+     *
+     * <p>If this storage was already loaded, any data read previously is discarded.</p>
+     */
+    void load();
+
+    /**
+     * Checks whether this storage must be accessed from the main thread
+     *
+     * <p>A storage which must be accessed from the main thread is called directly, rather than from the launchpad
+     * persistence thread.</p>
+     *
+     * @return <p>True if this storage must be accessed from the main thread</p>
+     */
+    default boolean isMainThreadOnly() {
+        return false;
+    }
+
+    /**
+     * Checks whether this storage is currently able to store the given launchpad
+     *
+     * @param record <p>The launchpad to check</p>
+     * @return <p>True if the launchpad can be stored</p>
+     */
+    default boolean canStore(@NotNull LaunchpadRecord record) {
+        return true;
+    }
+
+    /**
+     * Gets all stored launchpads in the given chunks
+     *
+     * @param worldId   <p>The id of the world containing the chunks</p>
+     * @param chunkKeys <p>The keys of the chunks to get launchpads for</p>
+     * @return <p>All launchpads in the given chunks</p>
+     */
+    @NotNull List<LaunchpadRecord> loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys);
+
+    /**
+     * Gets all stored launchpads
+     *
+     * @return <p>All stored launchpads</p>
+     */
+    @NotNull List<LaunchpadRecord> loadAll();
+
+    /**
+     * Stores a launchpad, replacing any launchpad stored at the same position
+     *
+     * @param record <p>The launchpad to store</p>
+     */
+    void upsert(@NotNull LaunchpadRecord record);
+
+    /**
+     * Deletes the launchpad stored at the position of the given launchpad
+     *
+     * @param record <p>The launchpad to delete</p>
+     */
+    void delete(@NotNull LaunchpadRecord record);
+
+    /**
+     * Applies a batch of changes, in order, as a single write
+     *
+     * @param changes <p>The changes to apply</p>
+     * @return <p>True if all changes were applied</p>
+     */
+    boolean applyChanges(@NotNull List<JournalEntry> changes);
+
+    /**
+     * Makes any changes that are not yet durable durable, and compacts the stored data if necessary
+     */
+    void flush();
+
+    /**
+     * Checks whether the stored data has been changed by anything other than this storage since it was loaded
+     *
+     * @return <p>True if the stored data needs to be loaded again</p>
+     */
+    boolean hasExternalChanges();
+
+    /**
+     * Closes this storage, releasing any open files
+     */
+    void close();
+
+}
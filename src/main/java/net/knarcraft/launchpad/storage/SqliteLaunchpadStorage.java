@@ -0,0 +1,311 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import net.knarcraft.launchpad.util.PositionHelper;
+import org.bukkit.block.BlockFace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * A launchpad storage backed by an embedded SQLite database
+ *
+ * <p>Launchpads are stored as one row each, indexed by world and chunk, so that loading a chunk's launchpads is a
+ * single indexed query. Every change is committed as its own transaction as soon as it's made, so only the
+ * launchpads of loaded chunks are ever kept in memory.</p>
+ */
+public final class SqliteLaunchpadStorage implements LaunchpadStorage {
+
+    /**
+     * The name of the launchpad database file
+     */
+    public static final String FILE_NAME = "launchpads.db";
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS launchpads (" +
+            "world TEXT NOT NULL, x INTEGER NOT NULL, y INTEGER NOT NULL, z INTEGER NOT NULL, " +
+            "chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, horizontal_velocity REAL NOT NULL, " +
+            "vertical_velocity REAL NOT NULL, fixed_direction TEXT, PRIMARY KEY (world, x, y, z))";
+    private static final String CREATE_CHUNK_INDEX = "CREATE INDEX IF NOT EXISTS launchpads_chunk ON launchpads " +
+            "(world, chunk_x, chunk_z)";
+    private static final String UPSERT = "INSERT OR REPLACE INTO launchpads (world, x, y, z, chunk_x, chunk_z, " +
+            "horizontal_velocity, vertical_velocity, fixed_direction) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM launchpads WHERE world = ? AND x = ? AND y = ? AND z = ?";
+    private static final String SELECT_CHUNK = "SELECT world, x, y, z, horizontal_velocity, vertical_velocity, " +
+            "fixed_direction FROM launchpads WHERE world = ? AND chunk_x = ? AND chunk_z = ?";
+    private static final String SELECT_ALL = "SELECT world, x, y, z, horizontal_velocity, vertical_velocity, " +
+            "fixed_direction FROM launchpads";
+
+    private final @NotNull File databaseFile;
+    private @Nullable Connection connection;
+    private @Nullable PreparedStatement upsertStatement;
+    private @Nullable PreparedStatement deleteStatement;
+    private @Nullable PreparedStatement selectChunkStatement;
+    private long dataVersion;
+
+    /**
+     * Instantiates a new SQLite launchpad storage
+     *
+     * @param dataFolder <p>The folder to store the launchpad database in</p>
+     */
+    public SqliteLaunchpadStorage(@NotNull File dataFolder) {
+        this.databaseFile = new File(dataFolder, FILE_NAME);
+    }
+
+    @Override
+    public void load() {
+        close();
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException exception) {
+            Launchpad.log(Level.SEVERE, "The SQLite driver is not available. Launchpads cannot be loaded or saved!");
+            return;
+        }
+        try {
+            if (!databaseFile.getParentFile().exists() && !databaseFile.getParentFile().mkdirs()) {
+                throw new SQLException("Unable to create " + databaseFile.getParentFile());
+            }
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute(CREATE_TABLE);
+                statement.execute(CREATE_CHUNK_INDEX);
+            }
+            this.upsertStatement = connection.prepareStatement(UPSERT);
+            this.deleteStatement = connection.prepareStatement(DELETE);
+            this.selectChunkStatement = connection.prepareStatement(SELECT_CHUNK);
+            this.dataVersion = getDataVersion();
+        } catch (SQLException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to open the launchpad database. Launchpads cannot be loaded or " +
+                    "saved! " + exception.getMessage());
+            close();
+        }
+    }
+
+    @Override
+    public @NotNull List<LaunchpadRecord> loadChunks(@NotNull UUID worldId, @NotNull long[] chunkKeys) {
+        List<LaunchpadRecord> records = new ArrayList<>();
+        if (selectChunkStatement == null) {
+            return records;
+        }
+        try {
+            selectChunkStatement.setString(1, worldId.toString());
+            for (long chunkKey : chunkKeys) {
+                selectChunkStatement.setInt(2, PositionHelper.getChunkX(chunkKey));
+                selectChunkStatement.setInt(3, PositionHelper.getChunkZ(chunkKey));
+                try (ResultSet resultSet = selectChunkStatement.executeQuery()) {
+                    readRecords(resultSet, records);
+                }
+            }
+        } catch (SQLException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to load launchpads from the database: " + exception.getMessage());
+        }
+        return records;
+    }
+
+    @Override
+    public @NotNull List<LaunchpadRecord> loadAll() {
+        List<LaunchpadRecord> records = new ArrayList<>();
+        if (connection == null) {
+            return records;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_ALL)) {
+            readRecords(resultSet, records);
+        } catch (SQLException exception) {
+            Launchpad.log(Level.SEVERE, "Unable to load launchpads from the database: " + exception.getMessage());
+        }
+        return records;
+    }
+
+    @Override
+    public void upsert(@NotNull LaunchpadRecord record) {
+        try {
+            executeUpsert(record);
+        } catch (SQLException exception) {
+            logWriteError(exception);
+        }
+    }
+
+    @Override
+    public void delete(@NotNull LaunchpadRecord record) {
+        try {
+            executeDelete(record);
+        } catch (SQLException exception) {
+            logWriteError(exception);
+        }
+    }
+
+    @Override
+    public boolean applyChanges(@NotNull List<JournalEntry> changes) {
+        if (connection == null) {
+            logWriteError(new SQLException("The launchpad database is not open"));
+            return false;
+        }
+        try {
+            connection.setAutoCommit(false);
+            try {
+                // Changes are executed in order, as a batch may remove and re-add a launchpad at the same position
+                for (JournalEntry change : changes) {
+                    if (change.action() == JournalAction.REMOVE) {
+                        executeDelete(change.record());
+                    } else {
+                        executeUpsert(change.record());
+                    }
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            logWriteError(exception);
+            return false;
+        }
+    }
+
+    @Override
+    public void flush() {
+        // Every change is committed as soon as it's made
+    }
+
+    @Override
+    public boolean hasExternalChanges() {
+        if (connection == null) {
+            return true;
+        }
+        try {
+            // The data version only changes when a different connection commits changes to the database
+            return getDataVersion() != this.dataVersion;
+        } catch (SQLException exception) {
+            Launchpad.log(Level.WARNING, "Unable to check the launchpad database for changes: " +
+                    exception.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            Launchpad.log(Level.WARNING, "Unable to close the launchpad database: " + exception.getMessage());
+        }
+        this.connection = null;
+        this.upsertStatement = null;
+        this.deleteStatement = null;
+        this.selectChunkStatement = null;
+    }
+
+    /**
+     * Stores the given launchpad, replacing any launchpad at the same position
+     *
+     * @param record <p>The launchpad to store</p>
+     * @throws SQLException <p>If unable to write to the database</p>
+     */
+    private void executeUpsert(@NotNull LaunchpadRecord record) throws SQLException {
+        if (upsertStatement == null) {
+            throw new SQLException("The launchpad database is not open");
+        }
+        upsertStatement.setString(1, record.worldId().toString());
+        upsertStatement.setInt(2, record.x());
+        upsertStatement.setInt(3, record.y());
+        upsertStatement.setInt(4, record.z());
+        upsertStatement.setInt(5, record.x() >> 4);
+        upsertStatement.setInt(6, record.z() >> 4);
+        upsertStatement.setDouble(7, record.horizontalVelocity());
+        upsertStatement.setDouble(8, record.verticalVelocity());
+        if (record.fixedDirection() != null) {
+            upsertStatement.setString(9, record.fixedDirection().name());
+        } else {
+            upsertStatement.setNull(9, Types.VARCHAR);
+        }
+        upsertStatement.executeUpdate();
+    }
+
+    /**
+     * Deletes the launchpad at the position of the given launchpad
+     *
+     * @param record <p>The launchpad to delete</p>
+     * @throws SQLException <p>If unable to write to the database</p>
+     */
+    private void executeDelete(@NotNull LaunchpadRecord record) throws SQLException {
+        if (deleteStatement == null) {
+            throw new SQLException("The launchpad database is not open");
+        }
+        deleteStatement.setString(1, record.worldId().toString());
+        deleteStatement.setInt(2, record.x());
+        deleteStatement.setInt(3, record.y());
+        deleteStatement.setInt(4, record.z());
+        deleteStatement.executeUpdate();
+    }
+
+    /**
+     * Reads all launchpad rows in the given result set
+     *
+     * @param resultSet <p>The result set to read</p>
+     * @param records   <p>The list to add the read launchpads to</p>
+     * @throws SQLException <p>If unable to read from the result set</p>
+     */
+    private static void readRecords(@NotNull ResultSet resultSet,
+                                    @NotNull List<LaunchpadRecord> records) throws SQLException {
+        while (resultSet.next()) {
+            String fixedDirectionString = resultSet.getString(7);
+            try {
+                BlockFace fixedDirection = fixedDirectionString != null ? BlockFace.valueOf(fixedDirectionString) :
+                        null;
+                records.add(new LaunchpadRecord(UUID.fromString(resultSet.getString(1)), resultSet.getInt(2),
+                        resultSet.getInt(3), resultSet.getInt(4), resultSet.getDouble(5), resultSet.getDouble(6),
+                        fixedDirection));
+            } catch (IllegalArgumentException exception) {
+                Launchpad.log(Level.WARNING, "Skipping invalid launchpad in the database at " +
+                        resultSet.getInt(2) + "," + resultSet.getInt(3) + "," + resultSet.getInt(4));
+            }
+        }
+    }
+
+    /**
+     * Gets the current data version of the database
+     *
+     * @return <p>The current data version</p>
+     * @throws SQLException <p>If unable to read the data version</p>
+     */
+    private long getDataVersion() throws SQLException {
+        if (connection == null) {
+            throw new SQLException("The launchpad database is not open");
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA data_version")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Logs an exception thrown while writing to the database
+     *
+     * @param exception <p>The exception to log</p>
+     */
+    private static void logWriteError(@NotNull SQLException exception) {
+        Launchpad.log(Level.SEVERE, "Unable to write to the launchpad database. Data loss will occur! " +
+                exception.getMessage());
+    }
+
+}
@@ -0,0 +1,29 @@
+package net.knarcraft.launchpad.storage;
+
+/**
+ * The storage backends available for launchpads
+ */
+public enum StorageType {
+
+    /**
+     * Launchpads are stored in a compact binary snapshot, with changes journaled in between saves
+     */
+    BINARY,
+
+    /**
+     * Launchpads are stored in data.yml, with changes journaled in between saves
+     */
+    YAML,
+
+    /**
+     * Launchpads are stored in an embedded SQLite database, indexed by world and chunk
+     */
+    SQLITE,
+
+    /**
+     * Launchpads are stored in the persistent data container of their chunk, and saved together with the chunk
+     */
+    CHUNK,
+    ;
+
+}
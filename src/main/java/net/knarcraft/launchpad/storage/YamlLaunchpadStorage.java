@@ -0,0 +1,113 @@
+package net.knarcraft.launchpad.storage;
+
+import net.knarcraft.launchpad.Launchpad;
+import org.bukkit.Location;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A launchpad storage backed by data.yml and a change journal
+ */
+public final class YamlLaunchpadStorage extends JournaledLaunchpadStorage {
+
+    /**
+     * The name of the file containing the launchpad snapshot
+     */
+    public static final String FILE_NAME = "data.yml";
+
+    /**
+     * Instantiates a new YAML launchpad storage
+     *
+     * @param dataFolder <p>The folder to store launchpad data in</p>
+     */
+    public YamlLaunchpadStorage(@NotNull File dataFolder) {
+        super(dataFolder, FILE_NAME, "data.journal");
+    }
+
+    @Override
+    protected void readSnapshot(@NotNull File snapshotFile, @NotNull Consumer<LaunchpadRecord> consumer) {
+        YamlConfiguration yamlConfiguration = YamlConfiguration.loadConfiguration(snapshotFile);
+        ConfigurationSection launchpadsSection = yamlConfiguration.getConfigurationSection("launchpads");
+        if (launchpadsSection == null) {
+            Launchpad.log(Level.WARNING, "Launchpads section not found in data.yml. Ignore this warning if" +
+                    " you have no saved launchpads.");
+            return;
+        }
+        for (String key : launchpadsSection.getKeys(false)) {
+            try {
+                consumer.accept(loadRecord(launchpadsSection, key));
+            } catch (InvalidConfigurationException exception) {
+                Launchpad.log(Level.SEVERE, "Unable to load launchpad " + key + ": " + exception.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected boolean writeSnapshot(@NotNull File snapshotFile, @NotNull List<LaunchpadRecord> snapshot) {
+        YamlConfiguration yamlConfiguration = new YamlConfiguration();
+        ConfigurationSection launchpadsSection = yamlConfiguration.createSection("launchpads");
+        for (LaunchpadRecord record : snapshot) {
+            ConfigurationSection launchpadSection = launchpadsSection.createSection(record.getLocationKey());
+            launchpadSection.set("verticalVelocity", record.verticalVelocity());
+            launchpadSection.set("horizontalVelocity", record.horizontalVelocity());
+            launchpadSection.set("fixedDirection", record.fixedDirection() != null ?
+                    record.fixedDirection().name() : null);
+        }
+        try {
+            writeAtomically(snapshotFile.toPath(),
+                    ByteBuffer.wrap(yamlConfiguration.saveToString().getBytes(StandardCharsets.UTF_8)));
+            return true;
+        } catch (IOException e) {
+            Launchpad.log(Level.SEVERE, "Unable to save launchpads. Data loss will occur! Please report " +
+                    "details about this problem to the developer.");
+            return false;
+        }
+    }
+
+    /**
+     * Loads a single launchpad record from data.yml
+     *
+     * @param configurationSection <p>The configuration section to read</p>
+     * @param key                  <p>The key containing tha launchpad's info</p>
+     * @return <p>The loaded launchpad record</p>
+     * @throws InvalidConfigurationException <p>If unable to parse the launchpad's location</p>
+     */
+    private static @NotNull LaunchpadRecord loadRecord(@NotNull ConfigurationSection configurationSection,
+                                                       @NotNull String key) throws InvalidConfigurationException {
+        String[] locationParts = key.split(",");
+        UUID worldId;
+        int x;
+        int y;
+        int z;
+        try {
+            worldId = UUID.fromString(locationParts[0]);
+            x = Location.locToBlock(Double.parseDouble(locationParts[1]));
+            y = Location.locToBlock(Double.parseDouble(locationParts[2]));
+            z = Location.locToBlock(Double.parseDouble(locationParts[3]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidConfigurationException("Invalid launchpad location");
+        }
+
+        double horizontalVelocity = configurationSection.getDouble(key + ".horizontalVelocity", -1);
+        double verticalVelocity = configurationSection.getDouble(key + ".verticalVelocity", -1);
+        String fixedDirectionString = configurationSection.getString(key + ".fixedDirection");
+        BlockFace fixedDirection = null;
+        if (fixedDirectionString != null) {
+            fixedDirection = BlockFace.valueOf(fixedDirectionString);
+        }
+        return new LaunchpadRecord(worldId, x, y, z, horizontalVelocity, verticalVelocity, fixedDirection);
+    }
+
+}
@@ -0,0 +1,308 @@
+package net.knarcraft.launchpad.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hash map from primitive long keys to non-null values
+ *
+ * <p>This map uses open addressing with linear probing, so neither lookups nor insertions of existing keys box the
+ * key or allocate entry objects. A slot is empty if its value is null, which is why null values are not allowed.</p>
+ *
+ * @param <V> <p>The type of the stored values</p>
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    /**
+     * Instantiates a new, empty long object hash map
+     */
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new, empty long object hash map
+     *
+     * @param expectedSize <p>The number of entries the map should be able to hold without resizing</p>
+     */
+    public LongObjectHashMap(int expectedSize) {
+        allocate(getCapacity(expectedSize));
+    }
+
+    /**
+     * Gets the number of entries in this map
+     *
+     * @return <p>The number of entries in this map</p>
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether this map is empty
+     *
+     * @return <p>True if this map contains no entries</p>
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets the value stored for the given key
+     *
+     * @param key <p>The key to look up</p>
+     * @return <p>The stored value, or null if the key is not in this map</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key) {
+        int index = hash(key) & this.mask;
+        Object value;
+        while ((value = this.values[index]) != null) {
+            if (this.keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether this map contains the given key
+     *
+     * @param key <p>The key to check</p>
+     * @return <p>True if the key is in this map</p>
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores a value for the given key
+     *
+     * @param key   <p>The key to store the value for</p>
+     * @param value <p>The value to store</p>
+     * @return <p>The value previously stored for the key, or null if the key was not in this map</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(long key, @NotNull V value) {
+        int index = hash(key) & this.mask;
+        Object existing;
+        while ((existing = this.values[index]) != null) {
+            if (this.keys[index] == key) {
+                this.values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = value;
+        if (++this.size > this.resizeThreshold) {
+            rehash(this.keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value stored for the given key
+     *
+     * @param key <p>The key to remove</p>
+     * @return <p>The removed value, or null if the key was not in this map</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long key) {
+        int index = hash(key) & this.mask;
+        Object value;
+        while ((value = this.values[index]) != null) {
+            if (this.keys[index] == key) {
+                this.size--;
+                shiftBack(index);
+                return (V) value;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Removes all entries from this map
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Performs the given action for each value in this map
+     *
+     * <p>The map must not be modified by the action.</p>
+     *
+     * @param action <p>The action to perform</p>
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(@NotNull Consumer<? super V> action) {
+        for (Object value : this.values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Performs the given action for each entry in this map
+     *
+     * <p>The map must not be modified by the action.</p>
+     *
+     * @param action <p>The action to perform</p>
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull EntryConsumer<? super V> action) {
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null) {
+                action.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of all values in this map
+     *
+     * @return <p>A new list containing all values in this map</p>
+     */
+    public @NotNull List<V> values() {
+        List<V> values = new ArrayList<>(this.size);
+        forEachValue(values::add);
+        return values;
+    }
+
+    /**
+     * Gets a copy of all keys in this map
+     *
+     * @return <p>A new array containing all keys in this map</p>
+     */
+    public @NotNull long[] keys() {
+        long[] keys = new long[this.size];
+        int index = 0;
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] != null) {
+                keys[index++] = this.keys[i];
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Fills the gap left by a removed entry by moving back entries in the same probe sequence
+     *
+     * @param gap <p>The index of the removed entry</p>
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & this.mask;
+            if (this.values[index] == null) {
+                break;
+            }
+            int home = hash(this.keys[index]) & this.mask;
+            // Only move the entry if the gap lies cyclically between its home slot and its current slot
+            if (((index - home) & this.mask) >= ((index - gap) & this.mask)) {
+                this.keys[gap] = this.keys[index];
+                this.values[gap] = this.values[index];
+                gap = index;
+            }
+        }
+        this.values[gap] = null;
+    }
+
+    /**
+     * Moves all entries into new arrays of the given capacity
+     *
+     * @param capacity <p>The new capacity</p>
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int index = hash(oldKeys[i]) & this.mask;
+            while (this.values[index] != null) {
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = oldKeys[i];
+            this.values[index] = oldValues[i];
+        }
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity
+     *
+     * @param capacity <p>The capacity to allocate. Must be a power of two.</p>
+     */
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Gets the smallest power of two capacity able to hold the expected number of entries
+     *
+     * @param expectedSize <p>The expected number of entries</p>
+     * @return <p>The capacity to use</p>
+     */
+    private static int getCapacity(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads the bits of the given key, so that similar keys end up in different slots
+     *
+     * @param key <p>The key to hash</p>
+     * @return <p>The key's hash</p>
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * A consumer of long object hash map entries
+     *
+     * @param <V> <p>The type of the stored values</p>
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs an action on a map entry
+         *
+         * @param key   <p>The entry's key</p>
+         * @param value <p>The entry's value</p>
+         */
+        void accept(long key, V value);
+
+    }
+
+}
@@ -0,0 +1,150 @@
+package net.knarcraft.launchpad.util;
+
+/**
+ * A helper class for converting block and chunk positions into compact keys
+ */
+public final class PositionHelper {
+
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 12;
+    private static final long HORIZONTAL_MASK = (1L << HORIZONTAL_BITS) - 1;
+    private static final long VERTICAL_MASK = (1L << VERTICAL_BITS) - 1;
+
+    private PositionHelper() {
+
+    }
+
+    /**
+     * Packs the given block coordinates into a single long
+     *
+     * <p>The x and z coordinates use 26 bits each, and the y coordinate uses 12 bits, which covers every valid block
+     * position.</p>
+     *
+     * @param x <p>The x-coordinate of the block</p>
+     * @param y <p>The y-coordinate of the block</p>
+     * @param z <p>The z-coordinate of the block</p>
+     * @return <p>The packed block position</p>
+     */
+    public static long getBlockKey(int x, int y, int z) {
+        return ((x & HORIZONTAL_MASK) << (HORIZONTAL_BITS + VERTICAL_BITS)) |
+                ((z & HORIZONTAL_MASK) << VERTICAL_BITS) | (y & VERTICAL_MASK);
+    }
+
+    /**
+     * Gets the x-coordinate of a packed block position
+     *
+     * @param blockKey <p>The packed block position</p>
+     * @return <p>The x-coordinate</p>
+     */
+    public static int getBlockX(long blockKey) {
+        return (int) (blockKey >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    /**
+     * Gets the y-coordinate of a packed block position
+     *
+     * @param blockKey <p>The packed block position</p>
+     * @return <p>The y-coordinate</p>
+     */
+    public static int getBlockY(long blockKey) {
+        return (int) (blockKey << (64 - VERTICAL_BITS) >> (64 - VERTICAL_BITS));
+    }
+
+    /**
+     * Gets the z-coordinate of a packed block position
+     *
+     * @param blockKey <p>The packed block position</p>
+     * @return <p>The z-coordinate</p>
+     */
+    public static int getBlockZ(long blockKey) {
+        return (int) (blockKey << HORIZONTAL_BITS >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    /**
+     * Gets a key uniquely identifying a chunk within its world
+     *
+     * @param chunkX <p>The x-coordinate of the chunk</p>
+     * @param chunkZ <p>The z-coordinate of the chunk</p>
+     * @return <p>The chunk's key</p>
+     */
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the key of the chunk containing the given block coordinates
+     *
+     * @param blockX <p>The x-coordinate of the block</p>
+     * @param blockZ <p>The z-coordinate of the block</p>
+     * @return <p>The key of the chunk containing the block</p>
+     */
+    public static long getChunkKeyAt(int blockX, int blockZ) {
+        return getChunkKey(blockX >> 4, blockZ >> 4);
+    }
+
+    /**
+     * Gets the x-coordinate of the chunk identified by the given chunk key
+     *
+     * @param chunkKey <p>The chunk key</p>
+     * @return <p>The chunk's x-coordinate</p>
+     */
+    public static int getChunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    /**
+     * Gets the z-coordinate of the chunk identified by the given chunk key
+     *
+     * @param chunkKey <p>The chunk key</p>
+     * @return <p>The chunk's z-coordinate</p>
+     */
+    public static int getChunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * Packs the given block coordinates into a key identifying the block within its chunk
+     *
+     * <p>The lowest 4 bits contain the x-coordinate within the chunk, the next 4 bits contain the z-coordinate within
+     * the chunk, and the remaining bits contain the signed y-coordinate.</p>
+     *
+     * @param x <p>The x-coordinate of the block</p>
+     * @param y <p>The y-coordinate of the block</p>
+     * @param z <p>The z-coordinate of the block</p>
+     * @return <p>The packed position within the chunk</p>
+     */
+    public static int getChunkPositionKey(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * Gets the x-coordinate within its chunk of a packed chunk position
+     *
+     * @param chunkPositionKey <p>The packed chunk position</p>
+     * @return <p>The x-coordinate within the chunk, between 0 and 15</p>
+     */
+    public static int getChunkPositionX(int chunkPositionKey) {
+        return chunkPositionKey & 15;
+    }
+
+    /**
+     * Gets the y-coordinate of a packed chunk position
+     *
+     * @param chunkPositionKey <p>The packed chunk position</p>
+     * @return <p>The y-coordinate</p>
+     */
+    public static int getChunkPositionY(int chunkPositionKey) {
+        return chunkPositionKey >> 8;
+    }
+
+    /**
+     * Gets the z-coordinate within its chunk of a packed chunk position
+     *
+     * @param chunkPositionKey <p>The packed chunk position</p>
+     * @return <p>The z-coordinate within the chunk, between 0 and 15</p>
+     */
+    public static int getChunkPositionZ(int chunkPositionKey) {
+        return (chunkPositionKey >> 4) & 15;
+    }
+
+}